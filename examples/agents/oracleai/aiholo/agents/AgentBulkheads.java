@@ -0,0 +1,222 @@
+package oracleai.aiholo.agents;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Per-agent bulkheads with adaptive concurrency limits.
+ *
+ * All database-backed agents share one DataSource. Without a bulkhead, a
+ * burst of slow DBMS_CLOUD_AI.GENERATE or UTL_TO_SUMMARY calls can hold every
+ * pooled connection while fast agents such as DBPropertyGraphAgent wait behind
+ * them. Each agent valueName therefore gets its own concurrency limit, which
+ * also bounds the connections it can hold (one per in-flight call, plus
+ * SUMMARY_MAX_PARALLEL for map-reduce summaries).
+ *
+ * Limits adapt with AIMD driven by observed latency:
+ * - each call's latency is compared with a slow-moving baseline (EWMA) of
+ *   that agent's latency
+ * - a call that failed or timed out, or one slower than
+ *   AGENT_CONCURRENCY_TOLERANCE x baseline while the limit is fully used,
+ *   multiplies the limit by 0.75 (multiplicative decrease). Slow calls under
+ *   light load do not count: in-database LLM latency is heavy-tailed, and
+ *   without load behind it a slow call says nothing about the limit.
+ * - at most one decrease per window: calls that were already in flight when
+ *   the limit was cut cannot cut it again, so one burst of timeouts costs one
+ *   step, not one per call
+ * - a normal call while the limit is fully used adds 1/limit (additive
+ *   increase, roughly +1 per limit's worth of calls)
+ * Limits stay between AGENT_CONCURRENCY_MIN and the agent's maximum
+ * (AGENT_CONCURRENCY_MAX, or a per-agent override in AGENT_CONCURRENCY_LIMITS,
+ * e.g. "dbsqlagent:4,dbpropertygraphagent:16"), starting at
+ * AGENT_CONCURRENCY_INITIAL.
+ *
+ * Only agents listed in AGENT_BULKHEADS_AGENTS are limited; by default those
+ * are the agents that hold a database connection while they run. Agents that
+ * only call an LLM over HTTP (springaichatagent, generalagent, ...) are not
+ * limited unless listed; "*" limits every agent.
+ *
+ * A call that finds its agent at the limit is rejected immediately
+ * ({@link #tryAcquire(Agent)} returns null) and AsyncAgentExecutor hands the
+ * question to the fallback agent instead of queueing it. A call abandoned by
+ * its caller (a speculative run the router disagreed with) frees its slot
+ * without counting as a failure.
+ */
+@Component
+public class AgentBulkheads {
+
+    private static final double BACKOFF = 0.75;
+    private static final double BASELINE_ALPHA = 0.02;
+
+    /** How a call ended, as far as its agent's limit is concerned. */
+    public enum Outcome {
+        SUCCESS,
+        /** Failed or timed out: the limit backs off. */
+        FAILED,
+        /** Abandoned by the caller: the slot is freed, the limit is unchanged. */
+        CANCELLED
+    }
+
+    private final boolean enabled;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int defaultMaxLimit;
+    private final double tolerance;
+    private final Map<String, Integer> maxLimits;
+    private final Set<String> limitedAgents;
+    private final Map<String, Limiter> limiters = new ConcurrentHashMap<>();
+
+    public AgentBulkheads(@Value("${AGENT_BULKHEADS_ENABLED:true}") boolean enabled,
+                          @Value("${AGENT_CONCURRENCY_INITIAL:4}") int initialLimit,
+                          @Value("${AGENT_CONCURRENCY_MIN:1}") int minLimit,
+                          @Value("${AGENT_CONCURRENCY_MAX:8}") int defaultMaxLimit,
+                          @Value("${AGENT_CONCURRENCY_TOLERANCE:2.0}") double tolerance,
+                          @Value("${AGENT_CONCURRENCY_LIMITS:}") String perAgentLimits,
+                          @Value("${AGENT_BULKHEADS_AGENTS:dbsqlagent,dbsummarizationagent,dbpropertygraphagent,"
+                                  + "langchain4joraclerag,langchain4jtoolagent,ollamadbrag,springaivectorrag}")
+                          String bulkheadAgents) {
+        this.enabled = enabled;
+        this.minLimit = Math.max(1, minLimit);
+        this.defaultMaxLimit = Math.max(this.minLimit, defaultMaxLimit);
+        this.initialLimit = Math.max(this.minLimit, initialLimit);
+        this.tolerance = tolerance;
+        this.maxLimits = parseLimits(perAgentLimits);
+        this.limitedAgents = Arrays.stream(bulkheadAgents.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Takes a slot for one call of the agent, or returns null when the agent is
+     * at its limit. The permit must be released exactly once.
+     */
+    public Permit tryAcquire(Agent agent) {
+        if (!enabled || !isLimited(agent.getValueName())) {
+            return Permit.UNLIMITED;
+        }
+        Limiter limiter = limiters.computeIfAbsent(agent.getValueName(), this::newLimiter);
+        return limiter.tryAcquire() ? new Permit(limiter, System.nanoTime()) : null;
+    }
+
+    /** Current concurrency limit of the agent (for diagnostics). */
+    public int limitFor(String valueName) {
+        Limiter limiter = limiters.get(valueName);
+        return limiter == null ? initialLimit : limiter.currentLimit();
+    }
+
+    private boolean isLimited(String valueName) {
+        return limitedAgents.contains("*") || limitedAgents.contains(valueName);
+    }
+
+    private Limiter newLimiter(String valueName) {
+        int max = Math.max(minLimit, maxLimits.getOrDefault(valueName, defaultMaxLimit));
+        return new Limiter(minLimit, max, Math.min(initialLimit, max), tolerance);
+    }
+
+    private static Map<String, Integer> parseLimits(String spec) {
+        Map<String, Integer> limits = new HashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return limits;
+        }
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":", 2);
+            if (parts.length != 2) {
+                continue;
+            }
+            try {
+                limits.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+            } catch (NumberFormatException e) {
+                System.err.println("Ignoring invalid AGENT_CONCURRENCY_LIMITS entry: " + entry);
+            }
+        }
+        return limits;
+    }
+
+    /**
+     * One acquired slot; release with the outcome so the limit can adapt.
+     * Only the first release counts.
+     */
+    public static final class Permit {
+
+        static final Permit UNLIMITED = new Permit(null, 0);
+
+        private final Limiter limiter;
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Limiter limiter, long startNanos) {
+            this.limiter = limiter;
+            this.startNanos = startNanos;
+        }
+
+        public void release(Outcome outcome) {
+            if (limiter != null && released.compareAndSet(false, true)) {
+                limiter.release(System.nanoTime() - startNanos, outcome);
+            }
+        }
+    }
+
+    /** AIMD limit for one agent. */
+    private static final class Limiter {
+        private final int min;
+        private final int max;
+        private final double tolerance;
+        private double limit;
+        private double baselineNanos;
+        private int inFlight;
+        private long completed;
+        private long nextDecreaseAt;
+
+        Limiter(int min, int max, int initial, double tolerance) {
+            this.min = min;
+            this.max = max;
+            this.limit = initial;
+            this.tolerance = tolerance;
+        }
+
+        synchronized boolean tryAcquire() {
+            if (inFlight >= (int) limit) {
+                return false;
+            }
+            inFlight++;
+            return true;
+        }
+
+        synchronized void release(long nanos, Outcome outcome) {
+            boolean saturated = inFlight >= (int) limit;
+            inFlight--;
+            completed++;
+            if (outcome == Outcome.CANCELLED) {
+                // Says nothing about the agent's health
+                return;
+            }
+            boolean failed = outcome == Outcome.FAILED;
+            boolean slow = baselineNanos > 0 && nanos > tolerance * baselineNanos;
+            if (!failed) {
+                baselineNanos = baselineNanos == 0 ? nanos : baselineNanos + BASELINE_ALPHA * (nanos - baselineNanos);
+            }
+            if (failed || (slow && saturated)) {
+                if (completed >= nextDecreaseAt) {
+                    limit = Math.max(min, limit * BACKOFF);
+                    // The calls still in flight started before this decrease
+                    nextDecreaseAt = completed + inFlight + 1;
+                }
+            } else if (saturated) {
+                limit = Math.min(max, limit + 1.0 / limit);
+            }
+        }
+
+        synchronized int currentLimit() {
+            return (int) limit;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package oracleai.aiholo.agents;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadline and cancellation hooks for one agent invocation.
+ *
+ * {@link AsyncAgentExecutor} opens a scope around each agent call on its
+ * worker thread. Code running inside the call can read the remaining time
+ * (for example to set a JDBC query timeout) and register cancel actions such
+ * as Statement.cancel(); when the deadline passes, the executor cancels the
+ * scope and every registered action runs.
+ *
+ * Outside an async call {@link #current()} returns null, so agents behave
+ * exactly as they do on the synchronous path.
+ */
+public final class AgentCallScope {
+
+    private static final ThreadLocal<AgentCallScope> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+    private final List<Runnable> cancelActions = new CopyOnWriteArrayList<>();
+    private volatile boolean cancelled;
+
+    AgentCallScope(long timeoutMillis) {
+        this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    public static AgentCallScope current() {
+        return CURRENT.get();
+    }
+
+    void enter() {
+        CURRENT.set(this);
+    }
+
+    void exit() {
+        CURRENT.remove();
+    }
+
+    public long remainingMillis() {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Registers an action to run if this call is cancelled. If the scope is
+     * already cancelled the action runs immediately.
+     */
+    public void onCancel(Runnable action) {
+        cancelActions.add(action);
+        if (cancelled) {
+            runQuietly(action);
+        }
+    }
+
+    public void removeOnCancel(Runnable action) {
+        cancelActions.remove(action);
+    }
+
+    void cancel() {
+        if (cancelled) {
+            return;
+        }
+        cancelled = true;
+        for (Runnable action : cancelActions) {
+            runQuietly(action);
+        }
+    }
+
+    private static void runQuietly(Runnable action) {
+        try {
+            action.run();
+        } catch (Exception e) {
+            System.err.println("Agent cancel action failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package oracleai.aiholo.agents;
+
+import java.util.List;
+
+/**
+ * Optional execution hints an Agent can implement next to {@link Agent}.
+ *
+ * Every hint has a safe default, so agents only override what differs.
+ */
+public interface AgentHints {
+
+    /**
+     * Whether identical questions asked at the same moment may share one
+     * answer (see {@link QuestionCoalescer}). Return false for agents whose
+     * answer depends on the caller or session, or that perform an action per
+     * request (camera capture, clearing history, ...).
+     */
+    default boolean isCoalescable() {
+        return true;
+    }
+
+    /**
+     * Whether the agent may be started before routing has decided, and be
+     * cancelled if routing picks another agent (see {@link SpeculativeDispatcher}).
+     * Only read-only agents qualify: anything that changes state, plays media,
+     * moves a digital twin or clears history must keep the default false.
+     */
+    default boolean isSpeculationSafe() {
+        return false;
+    }
+
+    /**
+     * Typical questions this agent answers, embedded next to
+     * getAgentDescription() for AGENT_ROUTING_MODE=embedding (see
+     * {@link EmbeddingRouter}). A handful of varied phrasings works best.
+     */
+    default List<String> getExampleUtterances() {
+        return List.of();
+    }
+}
@@ -0,0 +1,85 @@
+package oracleai.aiholo.agents;
+
+import org.springframework.dao.support.DataAccessUtils;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.RowMapperResultSetExtractor;
+import org.springframework.jdbc.core.SingleColumnRowMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JdbcTemplate helpers that honour the current {@link AgentCallScope}.
+ *
+ * When called inside an async agent call, the statement gets a query timeout
+ * equal to the remaining deadline and is registered for Statement.cancel(),
+ * so a slow DBMS_CLOUD_AI or DBMS_VECTOR_CHAIN call is stopped in the database
+ * instead of holding a pooled connection after the visitor has moved on.
+ * Outside a scope these behave like the matching JdbcTemplate methods.
+ *
+ * Statement time is recorded as the db phase of the current
+ * {@link AgentMetrics} invocation.
+ */
+public final class AgentJdbc {
+
+    private AgentJdbc() {
+    }
+
+    public static <T> T queryForObject(JdbcTemplate jdbcTemplate, String sql, Class<T> requiredType, Object... args) {
+        List<T> results = query(jdbcTemplate, sql, new SingleColumnRowMapper<>(requiredType), args);
+        return DataAccessUtils.nullableSingleResult(results);
+    }
+
+    public static List<Map<String, Object>> queryForList(JdbcTemplate jdbcTemplate, String sql, Object... args) {
+        return query(jdbcTemplate, sql, new ColumnMapRowMapper(), args);
+    }
+
+    public static <T> List<T> query(JdbcTemplate jdbcTemplate, String sql, RowMapper<T> rowMapper, Object... args) {
+        long start = System.nanoTime();
+        try {
+            return execute(jdbcTemplate, sql, rowMapper, args);
+        } finally {
+            AgentMetrics.recordDb(start);
+        }
+    }
+
+    private static <T> List<T> execute(JdbcTemplate jdbcTemplate, String sql, RowMapper<T> rowMapper, Object[] args) {
+        AgentCallScope scope = AgentCallScope.current();
+        if (scope == null) {
+            return jdbcTemplate.query(sql, rowMapper, args);
+        }
+        PreparedStatementCreator creator = con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            int seconds = (int) Math.ceil(scope.remainingMillis() / 1000.0);
+            ps.setQueryTimeout(Math.max(1, seconds));
+            return ps;
+        };
+        PreparedStatementCallback<List<T>> callback = ps -> {
+            Runnable cancel = () -> {
+                try {
+                    ps.cancel();
+                } catch (SQLException e) {
+                    System.err.println("Statement cancel failed: " + e.getMessage());
+                }
+            };
+            scope.onCancel(cancel);
+            try {
+                new ArgumentPreparedStatementSetter(args).setValues(ps);
+                try (ResultSet rs = ps.executeQuery()) {
+                    return new RowMapperResultSetExtractor<>(rowMapper).extractData(rs);
+                }
+            } finally {
+                scope.removeOnCancel(cancel);
+            }
+        };
+        return jdbcTemplate.execute(creator, callback);
+    }
+}
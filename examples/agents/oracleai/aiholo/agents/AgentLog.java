@@ -0,0 +1,50 @@
+package oracleai.aiholo.agents;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Console progress logging for agents, switchable with AGENT_CONSOLE_LOGGING.
+ *
+ * Per-question progress lines ("... processing", "... successfully processed")
+ * go through {@link #info(String)} and are dropped when console logging is
+ * off; latency and outcomes are available from {@link AgentMetrics} instead.
+ * Messages built from the question go through {@link #info(Supplier)}, so no
+ * string is concatenated while logging is off.
+ * Errors are always printed as a single line, with the stack trace only when
+ * console logging is on.
+ */
+@Component
+public final class AgentLog {
+
+    private static volatile boolean enabled = true;
+
+    public AgentLog(@Value("${AGENT_CONSOLE_LOGGING:true}") boolean consoleLogging) {
+        enabled = consoleLogging;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void info(String message) {
+        if (enabled) {
+            System.out.println(message);
+        }
+    }
+
+    public static void info(Supplier<String> message) {
+        if (enabled) {
+            System.out.println(message.get());
+        }
+    }
+
+    public static void error(String message, Throwable error) {
+        System.err.println(message + ": " + error.getMessage());
+        if (enabled) {
+            error.printStackTrace();
+        }
+    }
+}
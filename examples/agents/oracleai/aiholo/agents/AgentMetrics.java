@@ -0,0 +1,187 @@
+package oracleai.aiholo.agents;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer metrics per agent valueName.
+ *
+ * Meters (all tagged with agent=valueName):
+ * - aiholo.agent.latency (timer with percentile histogram), tag phase =
+ *   routing | db | llm | total
+ * - aiholo.agent.requests (counter), tag outcome = success | fallback | error
+ * - aiholo.agent.inflight (gauge)
+ *
+ * Meters are registered once per agent on first use and cached, so recording
+ * a sample is a map lookup plus primitive updates and does not allocate.
+ * Without a MeterRegistry bean (no actuator on the classpath) every call is a
+ * no-op.
+ *
+ * {@link #invoke(Agent, String)} wraps one agent call. Inside it, code can
+ * attribute time to the db and llm phases with the static
+ * {@link #recordDb(long)} / {@link #recordLlm(long)} helpers (AgentJdbc does
+ * this for every statement) and flag a handled failure with
+ * {@link #markError()}; outside an invocation these are no-ops.
+ */
+@Component
+public class AgentMetrics {
+
+    public enum Phase { ROUTING, DB, LLM, TOTAL }
+
+    public enum Outcome { SUCCESS, FALLBACK, ERROR }
+
+    /** Tag value used for routing samples when no agent matched. */
+    public static final String NO_AGENT = "none";
+
+    private static final ThreadLocal<Call> CURRENT = ThreadLocal.withInitial(Call::new);
+
+    @Autowired(required = false)
+    private MeterRegistry registry;
+
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the agent and records total latency, in-flight count and the
+     * outcome (error if it throws or calls {@link #markError()}).
+     */
+    public String invoke(Agent agent, String question) {
+        return invoke(agent, () -> agent.processQuestion(question));
+    }
+
+    /**
+     * {@link #invoke(Agent, String)} for a call that is not a plain
+     * processQuestion(question), e.g. a question asked without a session.
+     */
+    public <T> T invoke(Agent agent, Supplier<T> call) {
+        Meters m = meters(agent.getValueName());
+        Call current = CURRENT.get();
+        Meters outerMeters = current.meters;
+        boolean outerFailed = current.failed;
+        current.meters = m;
+        current.failed = false;
+        m.inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            T answer = call.get();
+            m.count(current.failed ? Outcome.ERROR : Outcome.SUCCESS);
+            return answer;
+        } catch (RuntimeException | Error e) {
+            m.count(Outcome.ERROR);
+            throw e;
+        } finally {
+            m.record(Phase.TOTAL, System.nanoTime() - start);
+            m.inFlight.decrementAndGet();
+            current.meters = outerMeters;
+            current.failed = outerFailed;
+        }
+    }
+
+    /** Records routing time against the agent that was picked (null = none). */
+    public void recordRouting(Agent routedTo, long nanos) {
+        meters(routedTo == null ? NO_AGENT : routedTo.getValueName()).record(Phase.ROUTING, nanos);
+    }
+
+    /** Counts a question the agent could not answer in time, handed to the fallback agent. */
+    public void recordFallback(Agent agent) {
+        meters(agent.getValueName()).count(Outcome.FALLBACK);
+    }
+
+    public static void recordDb(long startNanos) {
+        record(Phase.DB, startNanos);
+    }
+
+    public static void recordLlm(long startNanos) {
+        record(Phase.LLM, startNanos);
+    }
+
+    /** Marks the current invocation as failed even though the agent returned an answer. */
+    public static void markError() {
+        CURRENT.get().failed = true;
+    }
+
+    /** Whether the current invocation has called {@link #markError()} so far. */
+    static boolean isErrorMarked() {
+        Call call = CURRENT.get();
+        return call.meters != null && call.failed;
+    }
+
+    private static void record(Phase phase, long startNanos) {
+        Meters m = CURRENT.get().meters;
+        if (m != null) {
+            m.record(phase, System.nanoTime() - startNanos);
+        }
+    }
+
+    private Meters meters(String valueName) {
+        Meters m = meters.get(valueName);
+        if (m == null) {
+            m = meters.computeIfAbsent(valueName, this::register);
+        }
+        return m;
+    }
+
+    private Meters register(String valueName) {
+        Meters m = new Meters();
+        if (registry == null) {
+            return m;
+        }
+        m.timers = new Timer[Phase.values().length];
+        for (Phase phase : Phase.values()) {
+            m.timers[phase.ordinal()] = Timer.builder("aiholo.agent.latency")
+                    .description("Agent latency by phase")
+                    .tag("agent", valueName)
+                    .tag("phase", phase.name().toLowerCase(Locale.ROOT))
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+        m.counters = new Counter[Outcome.values().length];
+        for (Outcome outcome : Outcome.values()) {
+            m.counters[outcome.ordinal()] = Counter.builder("aiholo.agent.requests")
+                    .description("Agent requests by outcome")
+                    .tag("agent", valueName)
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+        }
+        Gauge.builder("aiholo.agent.inflight", m.inFlight, AtomicInteger::get)
+                .description("Agent requests currently running")
+                .tag("agent", valueName)
+                .register(registry);
+        return m;
+    }
+
+    /** Pre-registered meters of one agent; timers/counters stay null without a registry. */
+    private static final class Meters {
+        final AtomicInteger inFlight = new AtomicInteger();
+        Timer[] timers;
+        Counter[] counters;
+
+        void record(Phase phase, long nanos) {
+            if (timers != null) {
+                timers[phase.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        void count(Outcome outcome) {
+            if (counters != null) {
+                counters[outcome.ordinal()].increment();
+            }
+        }
+    }
+
+    /** Per-thread state of the invocation running on that thread. */
+    private static final class Call {
+        Meters meters;
+        boolean failed;
+    }
+}
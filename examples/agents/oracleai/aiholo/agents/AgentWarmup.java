@@ -0,0 +1,206 @@
+package oracleai.aiholo.agents;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Startup warmup, so the first visitor after a restart is not several times
+ * slower than everyone else.
+ *
+ * Runs in an ApplicationReadyEvent listener ordered after the other startup
+ * listeners. Spring Boot publishes ReadinessState.ACCEPTING_TRAFFIC only once
+ * every ApplicationReadyEvent listener has returned, so the readiness probe
+ * (/actuator/health/readiness) reports ready only after warmup has finished or
+ * AGENT_WARMUP_TIMEOUT_SECONDS has passed. At the timeout the unfinished hooks
+ * are cancelled (JDBC cancel through their {@link AgentCallScope}, thread
+ * interrupt) and warmup returns without waiting for them. In parallel, on
+ * virtual threads:
+ * - AGENT_WARMUP_CONNECTIONS pooled connections are opened at the same time
+ * - every enabled agent (ENABLED_AGENTS, plus generalagent) that implements
+ *   {@link WarmableAgent} runs its warmup hook
+ * - the keyword router and the query embedding model handle sample questions
+ *
+ * A failing hook is logged and does not stop startup. AGENT_WARMUP_ENABLED=false
+ * skips the whole phase.
+ */
+@Component
+public class AgentWarmup {
+
+    private static final List<String> SAMPLE_QUESTIONS = List.of(
+            "What can you tell me about the ships in the fleet?",
+            "Search the documents for maintenance procedures",
+            "How many rows are in the orders table?");
+
+    @Autowired(required = false)
+    private List<Agent> agents;
+
+    @Autowired(required = false)
+    private DataSource dataSource;
+
+    @Autowired(required = false)
+    private KeywordRouter keywordRouter;
+
+    @Autowired(required = false)
+    private QueryEmbeddingService queryEmbeddings;
+
+    @Value("${AGENT_WARMUP_ENABLED:true}")
+    private boolean enabled;
+
+    @Value("${AGENT_WARMUP_TIMEOUT_SECONDS:120}")
+    private long timeoutSeconds;
+
+    @Value("${AGENT_WARMUP_CONNECTIONS:4}")
+    private int connections;
+
+    @Value("${ENABLED_AGENTS:}")
+    private String enabledAgents;
+
+    private volatile boolean finished;
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void warmUp() {
+        if (!enabled) {
+            finished = true;
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long timeoutMillis = TimeUnit.SECONDS.toMillis(Math.max(1, timeoutSeconds));
+        List<AgentCallScope> scopes = new ArrayList<>();
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        // Not try-with-resources: close() would wait for hooks that ignore interrupts
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        tasks.add(run(executor, scopes, timeoutMillis, "connection pool", this::openConnections));
+        tasks.add(run(executor, scopes, timeoutMillis, "routing", this::warmRouting));
+        for (Agent agent : warmableAgents()) {
+            tasks.add(run(executor, scopes, timeoutMillis, agent.getValueName(), ((WarmableAgent) agent)::warmUp));
+        }
+        try {
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            System.err.println("Agent warmup did not finish within " + timeoutSeconds + " s, continuing");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Individual failures are already logged
+        }
+        // Cancels the JDBC statements of unfinished hooks and interrupts their threads, without waiting
+        for (AgentCallScope scope : scopes) {
+            scope.cancel();
+        }
+        executor.shutdownNow();
+        finished = true;
+        System.out.println("Agent warmup finished " + tasks.stream().filter(CompletableFuture::isDone).count()
+                + " of " + tasks.size() + " tasks in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    private List<Agent> warmableAgents() {
+        List<Agent> result = new ArrayList<>();
+        if (agents == null) {
+            return result;
+        }
+        Set<String> enabledNames = parseEnabled(enabledAgents);
+        for (Agent agent : agents) {
+            if (!(agent instanceof WarmableAgent)) {
+                continue;
+            }
+            String name = agent.getValueName().toLowerCase(Locale.ROOT);
+            if ((enabledNames.isEmpty() || enabledNames.contains(name)) && agent.isConfigured()) {
+                result.add(agent);
+            }
+        }
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface WarmupTask {
+        void run() throws Exception;
+    }
+
+    /**
+     * Runs the task under its own AgentCallScope, so statements issued through
+     * AgentJdbc can be cancelled if warmup runs out of time.
+     */
+    private static CompletableFuture<Void> run(ExecutorService executor, List<AgentCallScope> scopes,
+                                               long timeoutMillis, String name, WarmupTask task) {
+        AgentCallScope scope = new AgentCallScope(timeoutMillis);
+        scopes.add(scope);
+        return CompletableFuture.runAsync(() -> {
+            long start = System.currentTimeMillis();
+            scope.enter();
+            try {
+                task.run();
+                System.out.println("Warmed up " + name + " in " + (System.currentTimeMillis() - start) + " ms");
+            } catch (Exception e) {
+                System.err.println("Warmup of " + name + " failed: " + e.getMessage());
+            } finally {
+                scope.exit();
+            }
+        }, executor);
+    }
+
+    /** Holds several connections at once so the pool really opens them. */
+    private void openConnections() throws Exception {
+        if (dataSource == null) {
+            return;
+        }
+        List<Connection> opened = new ArrayList<>();
+        try {
+            for (int i = 0; i < Math.max(0, connections); i++) {
+                opened.add(dataSource.getConnection());
+            }
+        } finally {
+            for (Connection connection : opened) {
+                connection.close();
+            }
+        }
+    }
+
+    private void warmRouting() {
+        for (String question : SAMPLE_QUESTIONS) {
+            QuestionTokens tokens = QuestionTokens.of(question);
+            if (keywordRouter != null) {
+                keywordRouter.match(tokens);
+            }
+            if (queryEmbeddings != null && queryEmbeddings.isConfigured()) {
+                queryEmbeddings.embed(question);
+            }
+        }
+    }
+
+    private static Set<String> parseEnabled(String spec) {
+        Set<String> names = new HashSet<>();
+        if (spec == null || spec.isBlank()) {
+            return names;
+        }
+        for (String name : spec.split(",")) {
+            if (!name.isBlank()) {
+                names.add(name.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        names.add("generalagent");
+        return names;
+    }
+}
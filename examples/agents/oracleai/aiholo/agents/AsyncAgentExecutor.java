@@ -0,0 +1,224 @@
+package oracleai.aiholo.agents;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous agent execution for AgentService.processQuestionAsync().
+ *
+ * Each agent call runs on its own virtual thread, so a slow in-database LLM
+ * call parks a cheap virtual thread instead of tying up a request thread.
+ * Every call gets a deadline:
+ * - AGENT_TIMEOUT_MS sets the default (30 seconds)
+ * - AGENT_TIMEOUTS overrides it per valueName, e.g. "dbsqlagent:45000,dbsummarizationagent:60000"
+ *
+ * When the deadline passes the call is cancelled: JDBC statements issued
+ * through {@link AgentJdbc} are cancelled in the database and the virtual
+ * thread is interrupted, which closes any blocking HTTP socket. The question
+ * is then answered by the fallback agent (generalagent).
+ *
+ * Calls are recorded through {@link AgentMetrics}: total latency, in-flight
+ * count and outcome per agent, with a fallback count on the primary agent.
+ *
+ * Identical questions to the same agent that arrive while one is already
+ * running share that call through {@link QuestionCoalescer}.
+ *
+ * Primary agent calls pass through {@link AgentBulkheads}: an agent already
+ * at its adaptive concurrency limit is not queued, the question goes
+ * straight to the fallback agent. Fallback calls are not limited.
+ */
+@Component
+public class AsyncAgentExecutor {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final long defaultTimeoutMillis;
+    private final Map<String, Long> timeoutsByAgent;
+    private final AgentMetrics metrics;
+
+    @Autowired(required = false)
+    private QuestionCoalescer coalescer;
+
+    @Autowired(required = false)
+    private AgentBulkheads bulkheads;
+
+    public AsyncAgentExecutor(@Value("${AGENT_TIMEOUT_MS:30000}") long defaultTimeoutMillis,
+                              @Value("${AGENT_TIMEOUTS:}") String agentTimeouts,
+                              AgentMetrics metrics) {
+        this.defaultTimeoutMillis = defaultTimeoutMillis;
+        this.metrics = metrics;
+        this.timeoutsByAgent = parseTimeouts(agentTimeouts);
+    }
+
+    /**
+     * Runs the agent asynchronously with its deadline. On timeout or failure the
+     * fallback agent answers instead; the fallback gets the default deadline and
+     * is not itself retried.
+     */
+    public CompletableFuture<String> processQuestionAsync(Agent agent, String question, Agent fallback) {
+        return withFallback(coalesced(agent, question, timeoutFor(agent), true), agent, question, fallback);
+    }
+
+    /**
+     * Starts the agent without coalescing or fallback. Cancelling the returned
+     * future cancels the call (JDBC cancel and thread interrupt), which is what
+     * {@link SpeculativeDispatcher} needs to abandon a wrong guess.
+     */
+    public CompletableFuture<String> startCancellable(Agent agent, String question) {
+        return limited(agent, () -> metrics.invoke(agent, question), timeoutFor(agent));
+    }
+
+    /**
+     * Runs {@code call} on behalf of the agent with the given deadline and the
+     * agent's bulkhead permit, without coalescing or fallback. For callers that
+     * need something other than processQuestion(question), such as a group of
+     * questions in {@link BatchQuestionService}. Fails with a
+     * RejectedExecutionException when the agent is at its concurrency limit.
+     */
+    public <T> CompletableFuture<T> call(Agent agent, long timeoutMillis, Supplier<T> call) {
+        return limited(agent, call, timeoutMillis);
+    }
+
+    /**
+     * Answers with the fallback agent if {@code primary} times out or fails.
+     */
+    public CompletableFuture<String> withFallback(CompletableFuture<String> primary, Agent agent,
+                                                  String question, Agent fallback) {
+        if (fallback == null || fallback == agent) {
+            return primary;
+        }
+        return primary.exceptionallyCompose(failure -> {
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause() : failure;
+            metrics.recordFallback(agent);
+            if (cause instanceof RejectedExecutionException) {
+                System.err.println(agent.getName() + " is at its concurrency limit, falling back to "
+                        + fallback.getValueName());
+            } else if (cause instanceof TimeoutException) {
+                System.err.println(agent.getName() + " exceeded its " + timeoutFor(agent)
+                        + " ms deadline, falling back to " + fallback.getValueName());
+            } else {
+                System.err.println(agent.getName() + " failed (" + cause.getMessage()
+                        + "), falling back to " + fallback.getValueName());
+            }
+            return coalesced(fallback, question, defaultTimeoutMillis, false);
+        });
+    }
+
+    public long timeoutFor(Agent agent) {
+        return timeoutsByAgent.getOrDefault(agent.getValueName(), defaultTimeoutMillis);
+    }
+
+    private CompletableFuture<String> coalesced(Agent agent, String question, long timeoutMillis, boolean limited) {
+        Supplier<String> call = () -> metrics.invoke(agent, question);
+        if (coalescer == null) {
+            return limited ? limited(agent, call, timeoutMillis) : submit(call, timeoutMillis, null);
+        }
+        return coalescer.coalesce(agent, question, () -> limited
+                ? limited(agent, call, timeoutMillis)
+                : submit(call, timeoutMillis, null));
+    }
+
+    /**
+     * Submits the call if the agent's bulkhead has room, otherwise fails fast
+     * with a RejectedExecutionException.
+     */
+    private <T> CompletableFuture<T> limited(Agent agent, Supplier<T> call, long timeoutMillis) {
+        if (bulkheads == null) {
+            return submit(call, timeoutMillis, null);
+        }
+        AgentBulkheads.Permit permit = bulkheads.tryAcquire(agent);
+        if (permit == null) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    agent.getValueName() + " is at its concurrency limit"));
+        }
+        return submit(call, timeoutMillis, permit);
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> call, long timeoutMillis, AgentBulkheads.Permit permit) {
+        AgentCallScope scope = new AgentCallScope(timeoutMillis);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicBoolean started = new AtomicBoolean();
+        AtomicBoolean cancelledByCaller = new AtomicBoolean();
+        Future<?> task = executor.submit(() -> {
+            started.set(true);
+            scope.enter();
+            boolean failed = false;
+            try {
+                result.complete(call.get());
+            } catch (Throwable t) {
+                failed = true;
+                result.completeExceptionally(t);
+            } finally {
+                scope.exit();
+                // Released when the work really stops, so a timed-out call keeps
+                // its slot (and connection) until the cancel has taken effect
+                if (permit != null) {
+                    permit.release(outcome(failed || scope.isCancelled(), cancelledByCaller.get()));
+                }
+            }
+        });
+        scope.onCancel(() -> task.cancel(true));
+        result.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+              .whenComplete((answer, failure) -> {
+                  if (failure != null) {
+                      // A caller cancel (e.g. a speculative run the router disagreed with)
+                      // is not the agent's fault and must not shrink its limit
+                      cancelledByCaller.set(failure instanceof CancellationException);
+                      scope.cancel();
+                      if (permit != null && !started.get()) {
+                          // Cancelled before the virtual thread ran
+                          permit.release(outcome(true, cancelledByCaller.get()));
+                      }
+                  }
+              });
+        return result;
+    }
+
+    private static AgentBulkheads.Outcome outcome(boolean failed, boolean cancelledByCaller) {
+        if (cancelledByCaller) {
+            return AgentBulkheads.Outcome.CANCELLED;
+        }
+        return failed ? AgentBulkheads.Outcome.FAILED : AgentBulkheads.Outcome.SUCCESS;
+    }
+
+    private static Map<String, Long> parseTimeouts(String spec) {
+        Map<String, Long> timeouts = new HashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return timeouts;
+        }
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":", 2);
+            if (parts.length != 2) {
+                continue;
+            }
+            try {
+                timeouts.put(parts[0].trim(), Long.parseLong(parts[1].trim()));
+            } catch (NumberFormatException e) {
+                System.err.println("Ignoring invalid AGENT_TIMEOUTS entry: " + entry);
+            }
+        }
+        return timeouts;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
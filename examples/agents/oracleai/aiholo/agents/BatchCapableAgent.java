@@ -0,0 +1,21 @@
+package oracleai.aiholo.agents;
+
+import java.util.List;
+
+/**
+ * Optional interface for agents that can answer several questions in one
+ * backend round trip, used by {@link BatchQuestionService}.
+ *
+ * Agents that do not implement it are called once per question. Agents whose
+ * work is a row-wise in-database LLM function should not implement it: a
+ * multi-row query runs those calls one after another.
+ */
+public interface BatchCapableAgent {
+
+    /**
+     * Answers all questions and returns exactly one answer per question, in
+     * the same order. A failure for the whole group should be reported the way
+     * processQuestion reports it, as an answer text per question.
+     */
+    List<String> processQuestions(List<String> questions);
+}
@@ -0,0 +1,46 @@
+package oracleai.aiholo.agents;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST entry point for {@link BatchQuestionService}.
+ *
+ * POST /aiholo/batch with {"questions": ["...", "..."]} returns a JSON array
+ * of {question, agent, answer} objects in the same order. Answers are text
+ * only: nothing is spoken, displayed or written to OUTPUT_FILE_PATH. Returns
+ * 503 when no enabled agent can take batch questions.
+ */
+@RestController
+@RequestMapping("/aiholo")
+public class BatchQuestionController {
+
+    public record BatchRequest(List<String> questions) {
+    }
+
+    @Autowired
+    private BatchQuestionService batchQuestionService;
+
+    @PostMapping("/batch")
+    public ResponseEntity<?> batch(@RequestBody BatchRequest request) {
+        if (request == null || request.questions() == null || request.questions().isEmpty()) {
+            return ResponseEntity.badRequest().body("questions must be a non-empty array");
+        }
+        if (request.questions().size() > batchQuestionService.getMaxQuestions()) {
+            return ResponseEntity.badRequest()
+                    .body("At most " + batchQuestionService.getMaxQuestions() + " questions per batch");
+        }
+        try {
+            return ResponseEntity.ok(batchQuestionService.answerAll(request.questions()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
+    }
+}
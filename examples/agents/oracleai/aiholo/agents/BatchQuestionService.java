@@ -0,0 +1,355 @@
+package oracleai.aiholo.agents;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Answers a list of questions at once, for evaluation replays and for
+ * pre-generating signage answers.
+ *
+ * The service compiles its own routers on first use, from the agents that
+ * pass the ENABLED_AGENTS filter, report isConfigured() and are not listed in
+ * BATCH_EXCLUDED_AGENTS (valueNames; by default the agents with side effects:
+ * clearhistory, mirrormeagent, digitaltwinagent, signagent, visionagent and
+ * the image agents image, editimage and imageneditimage). If none of
+ * them can be routed to, the batch fails with an IllegalStateException
+ * instead of sending every question to the fallback.
+ *
+ * All questions are routed first (the embedding router with
+ * AGENT_ROUTING_MODE=embedding, otherwise the keyword router; unmatched
+ * questions go to generalagent), then grouped by agent:
+ * - agents implementing {@link BatchCapableAgent} get their questions in
+ *   groups of up to BATCH_GROUP_SIZE (langchain4joraclerag embeds a group in
+ *   one call); a group's deadline is the agent's deadline times its size
+ * - other agents are called once per question through {@link AgentMetrics},
+ *   in parallel. This includes the agents whose work is a row-wise in-database
+ *   LLM function (DBMS_CLOUD_AI, UTL_TO_SUMMARY): Oracle evaluates such a
+ *   function one row after another, so grouping them would only serialize the
+ *   calls;
+ *   {@link ConversationalAgent}s are asked without a session, so batch
+ *   questions are neither answered from nor recorded in any conversation
+ * Every call and every group goes through {@link AsyncAgentExecutor} with the
+ * agent's deadline (AGENT_TIMEOUT_MS / AGENT_TIMEOUTS) and its
+ * {@link AgentBulkheads} permit. An agent at its limit is retried with
+ * backoff until the deadline, so interactive questions keep their share; a
+ * call that times out or fails is answered by generalagent.
+ * At most BATCH_MAX_PARALLEL groups or questions run at the same time, on
+ * virtual threads. Answers are returned in input order.
+ */
+@Component
+public class BatchQuestionService {
+
+    private static final String DIFFICULTY = "I'm having difficulty answering this question right now.";
+
+    /** One answered question; agent is the valueName that answered it. */
+    public record BatchAnswer(String question, String agent, String answer) {
+    }
+
+    /** Routers compiled for the batch agents; embedding is null in keyword mode. */
+    private record Routing(KeywordRouter keyword, EmbeddingRouter embedding, Agent fallback) {
+    }
+
+    @Autowired(required = false)
+    private List<Agent> agents;
+
+    @Autowired(required = false)
+    private QueryEmbeddingService queryEmbeddings;
+
+    @Autowired
+    private AsyncAgentExecutor executor;
+
+    @Autowired
+    private AgentMetrics metrics;
+
+    @Value("${AGENT_ROUTING_MODE:keyword}")
+    private String routingMode;
+
+    @Value("${EMBEDDING_ROUTING_THRESHOLD:0.55}")
+    private float embeddingThreshold;
+
+    @Value("${ENABLED_AGENTS:}")
+    private String enabledAgents;
+
+    @Value("${BATCH_EXCLUDED_AGENTS:clearhistory,mirrormeagent,digitaltwinagent,signagent,visionagent,image,editimage,imageneditimage}")
+    private String excludedAgents;
+
+    @Value("${BATCH_MAX_PARALLEL:4}")
+    private int maxParallel;
+
+    @Value("${BATCH_GROUP_SIZE:16}")
+    private int groupSize;
+
+    @Value("${BATCH_MAX_QUESTIONS:1000}")
+    private int maxQuestions;
+
+    private volatile Routing routing;
+
+    public int getMaxQuestions() {
+        return maxQuestions;
+    }
+
+    /**
+     * Answers every question and returns one answer per question, in order.
+     *
+     * @throws IllegalArgumentException if more than BATCH_MAX_QUESTIONS are given
+     * @throws IllegalStateException if no enabled, configured agent can take batch questions
+     */
+    public List<BatchAnswer> answerAll(List<String> questions) {
+        if (questions.size() > maxQuestions) {
+            throw new IllegalArgumentException("At most " + maxQuestions + " questions per batch");
+        }
+        long start = System.currentTimeMillis();
+        Routing r = routing();
+        Agent fallback = r.fallback();
+
+        Map<Agent, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < questions.size(); i++) {
+            Agent agent = route(r, questions.get(i));
+            if (agent == null) {
+                agent = fallback;
+            }
+            if (agent != null) {
+                groups.computeIfAbsent(agent, a -> new ArrayList<>()).add(i);
+            }
+        }
+
+        String[] answers = new String[questions.size()];
+        String[] answeredBy = new String[questions.size()];
+        Semaphore permits = new Semaphore(Math.max(1, maxParallel));
+        List<Future<?>> tasks = new ArrayList<>();
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Map.Entry<Agent, List<Integer>> group : groups.entrySet()) {
+                Agent agent = group.getKey();
+                List<Integer> positions = group.getValue();
+                if (agent instanceof BatchCapableAgent) {
+                    int size = Math.max(1, groupSize);
+                    for (int from = 0; from < positions.size(); from += size) {
+                        List<Integer> slice = positions.subList(from, Math.min(positions.size(), from + size));
+                        tasks.add(threads.submit(() -> bounded(permits,
+                                () -> answerGroup(agent, fallback, slice, questions, answers, answeredBy))));
+                    }
+                } else {
+                    for (int position : positions) {
+                        tasks.add(threads.submit(() -> bounded(permits,
+                                () -> answerOne(agent, fallback, position, questions, answers, answeredBy))));
+                    }
+                }
+            }
+        }
+
+        List<BatchAnswer> results = new ArrayList<>(questions.size());
+        for (int i = 0; i < questions.size(); i++) {
+            String answer = answers[i] != null ? answers[i] : "No agent is available to answer this question.";
+            results.add(new BatchAnswer(questions.get(i), answeredBy[i], answer));
+        }
+        System.out.println("Batch answered " + questions.size() + " questions with " + groups.size()
+                + " agents in " + tasks.size() + " calls, " + (System.currentTimeMillis() - start) + " ms");
+        return results;
+    }
+
+    private static Agent route(Routing r, String question) {
+        QuestionTokens tokens = QuestionTokens.of(question);
+        return r.embedding() != null ? r.embedding().route(tokens) : r.keyword().route(tokens);
+    }
+
+    private Routing routing() {
+        Routing r = routing;
+        if (r == null) {
+            synchronized (this) {
+                r = routing;
+                if (r == null) {
+                    r = compileRouting();
+                    routing = r;
+                }
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Compiles private routers over the batch agents. The application's
+     * KeywordRouter and EmbeddingRouter beans are left alone; they may be
+     * compiled for a different set of agents, or not at all.
+     */
+    private Routing compileRouting() {
+        List<Agent> batchAgents = batchAgents();
+        Agent fallback = null;
+        boolean routable = false;
+        for (Agent agent : batchAgents) {
+            if ("generalagent".equals(agent.getValueName().toLowerCase(Locale.ROOT))) {
+                fallback = agent;
+            }
+            String[][] keywords = agent.getKeywords();
+            routable |= keywords != null && keywords.length > 0;
+        }
+        if (!routable) {
+            throw new IllegalStateException("No agent can take batch questions: check ENABLED_AGENTS, "
+                    + "BATCH_EXCLUDED_AGENTS and the agents' configuration");
+        }
+        KeywordRouter keyword = new KeywordRouter();
+        keyword.compile(batchAgents);
+        EmbeddingRouter embedding = null;
+        if ("embedding".equalsIgnoreCase(routingMode) && queryEmbeddings != null && queryEmbeddings.isConfigured()) {
+            embedding = new EmbeddingRouter(queryEmbeddings, keyword, embeddingThreshold);
+            embedding.compile(batchAgents);
+        }
+        System.out.println("Batch routing over " + batchAgents.stream().map(Agent::getValueName)
+                .collect(Collectors.joining(", ")));
+        return new Routing(keyword, embedding, fallback);
+    }
+
+    private List<Agent> batchAgents() {
+        List<Agent> result = new ArrayList<>();
+        if (agents == null) {
+            return result;
+        }
+        Set<String> enabledNames = parseNames(enabledAgents);
+        if (!enabledNames.isEmpty()) {
+            enabledNames.add("generalagent");
+        }
+        Set<String> excludedNames = parseNames(excludedAgents);
+        for (Agent agent : agents) {
+            String name = agent.getValueName().toLowerCase(Locale.ROOT);
+            if ((enabledNames.isEmpty() || enabledNames.contains(name)) && !excludedNames.contains(name)
+                    && agent.isConfigured()) {
+                result.add(agent);
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> parseNames(String spec) {
+        Set<String> names = new HashSet<>();
+        if (spec == null || spec.isBlank()) {
+            return names;
+        }
+        for (String name : spec.split(",")) {
+            if (!name.isBlank()) {
+                names.add(name.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return names;
+    }
+
+    private void answerGroup(Agent agent, Agent fallback, List<Integer> positions, List<String> questions,
+                             String[] answers, String[] answeredBy) {
+        List<String> group = new ArrayList<>(positions.size());
+        for (int position : positions) {
+            group.add(questions.get(position));
+        }
+        List<String> groupAnswers;
+        try {
+            groupAnswers = call(agent, group.size(), () -> ((BatchCapableAgent) agent).processQuestions(group));
+        } catch (Exception e) {
+            System.err.println(agent.getName() + " batch of " + group.size() + " failed: " + reason(e));
+            for (int position : positions) {
+                answerWithFallback(agent, fallback, position, questions, answers, answeredBy);
+            }
+            return;
+        }
+        for (int j = 0; j < positions.size(); j++) {
+            int position = positions.get(j);
+            answers[position] = j < groupAnswers.size() ? groupAnswers.get(j) : DIFFICULTY;
+            answeredBy[position] = agent.getValueName();
+        }
+    }
+
+    private void answerOne(Agent agent, Agent fallback, int position, List<String> questions,
+                           String[] answers, String[] answeredBy) {
+        try {
+            answers[position] = call(agent, 1, () -> ask(agent, questions.get(position)));
+            answeredBy[position] = agent.getValueName();
+        } catch (Exception e) {
+            System.err.println(agent.getName() + " failed in batch: " + reason(e));
+            answerWithFallback(agent, fallback, position, questions, answers, answeredBy);
+        }
+    }
+
+    private void answerWithFallback(Agent agent, Agent fallback, int position, List<String> questions,
+                                    String[] answers, String[] answeredBy) {
+        if (fallback == null || fallback == agent) {
+            answers[position] = DIFFICULTY;
+            answeredBy[position] = agent.getValueName();
+            return;
+        }
+        metrics.recordFallback(agent);
+        answeredBy[position] = fallback.getValueName();
+        try {
+            answers[position] = call(fallback, 1, () -> ask(fallback, questions.get(position)));
+        } catch (Exception e) {
+            System.err.println(fallback.getName() + " failed in batch: " + reason(e));
+            answers[position] = DIFFICULTY;
+        }
+    }
+
+    /** Batch questions belong to no conversation: conversational agents get no session. */
+    private String ask(Agent agent, String question) {
+        if (agent instanceof ConversationalAgent conversational) {
+            return metrics.invoke(agent, () -> conversational.processQuestion(null, question));
+        }
+        return metrics.invoke(agent, question);
+    }
+
+    /**
+     * Runs the call through the executor with the bulkhead permit of the agent
+     * and its per-question deadline times {@code questions}. While the agent is
+     * at its limit the call is retried with backoff, until the deadline would
+     * have passed.
+     */
+    private <T> T call(Agent agent, int questions, Supplier<T> call) throws Exception {
+        long timeoutMillis = executor.timeoutFor(agent) * questions;
+        long giveUp = System.currentTimeMillis() + timeoutMillis;
+        long backoffMillis = 50;
+        while (true) {
+            try {
+                return executor.call(agent, timeoutMillis, call).get();
+            } catch (ExecutionException e) {
+                boolean full = e.getCause() instanceof RejectedExecutionException;
+                if (!full || System.currentTimeMillis() + backoffMillis > giveUp) {
+                    throw e.getCause() instanceof Exception cause ? cause : e;
+                }
+            }
+            Thread.sleep(backoffMillis);
+            backoffMillis = Math.min(backoffMillis * 2, 1000);
+        }
+    }
+
+    private static String reason(Exception e) {
+        if (e instanceof TimeoutException) {
+            return "deadline exceeded";
+        }
+        return e instanceof RejectedExecutionException ? "still at its concurrency limit" : e.getMessage();
+    }
+
+    private static void bounded(Semaphore permits, Runnable task) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            task.run();
+        } finally {
+            permits.release();
+        }
+    }
+}
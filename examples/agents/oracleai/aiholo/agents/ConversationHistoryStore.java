@@ -0,0 +1,242 @@
+package oracleai.aiholo.agents;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.ai.chat.ChatClient;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-session conversation history with a fixed token budget.
+ *
+ * Each session keeps its most recent turns in a bounded ring buffer
+ * (HISTORY_MAX_TURNS) whose estimated size stays under HISTORY_TOKEN_BUDGET.
+ * Turns pushed out of the buffer are folded into a rolling summary of at most
+ * HISTORY_SUMMARY_TOKENS on a background virtual thread, so summarization is
+ * never on the request path. {@link #promptContext(String)} returns the
+ * summary plus the recent turns: its size, and with it the LLM prompt and
+ * latency, stays roughly constant however long a kiosk session runs.
+ *
+ * The summary is written by the OpenAI ChatClient when one is configured;
+ * otherwise the earlier questions are kept, trimmed to the summary budget.
+ * Turns that are waiting to be folded are not part of the prompt context.
+ *
+ * Sessions idle for HISTORY_IDLE_MINUTES are evicted. Callers pass their
+ * session id through {@link ConversationalAgent}; the plain
+ * Agent.processQuestion(String) path keeps no history. A single kiosk with
+ * one visitor at a time can use {@link #DEFAULT_SESSION}. The clearhistory
+ * agent calls {@link #clear(String)}.
+ */
+@Component
+public class ConversationHistoryStore {
+
+    public static final String DEFAULT_SESSION = "default";
+
+    /** One question and its answer. */
+    public record Turn(String question, String answer, int tokens) {
+    }
+
+    @Autowired(required = false)
+    @Qualifier("openAiChatClient")
+    private ChatClient chatClient;
+
+    @Value("${HISTORY_TOKEN_BUDGET:1500}")
+    private int tokenBudget;
+
+    @Value("${HISTORY_MAX_TURNS:20}")
+    private int maxTurns;
+
+    @Value("${HISTORY_SUMMARY_TOKENS:300}")
+    private int summaryTokens;
+
+    @Value("${HISTORY_IDLE_MINUTES:30}")
+    private long idleMinutes;
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final ExecutorService summarizer = Executors.newVirtualThreadPerTaskExecutor();
+    private ScheduledExecutorService evictor;
+
+    /** Rough token count for budgeting: about four characters per token. */
+    static int estimateTokens(String text) {
+        return text == null ? 0 : (text.length() + 3) / 4;
+    }
+
+    /**
+     * Adds a turn to the session. Turns that no longer fit the ring buffer are
+     * queued for background summarization.
+     */
+    public void record(String sessionId, String question, String answer) {
+        if (question == null || answer == null) {
+            return;
+        }
+        Session session = sessions.computeIfAbsent(sessionId, id -> new Session());
+        Turn turn = new Turn(question, answer, estimateTokens(question) + estimateTokens(answer));
+        boolean startFold;
+        synchronized (session) {
+            session.lastAccess = System.currentTimeMillis();
+            session.turns.addLast(turn);
+            session.tokens += turn.tokens();
+            int budget = Math.max(0, tokenBudget - estimateTokens(session.summary));
+            while (session.turns.size() > 1
+                    && (session.turns.size() > Math.max(1, maxTurns) || session.tokens > budget)) {
+                Turn oldest = session.turns.removeFirst();
+                session.tokens -= oldest.tokens();
+                session.pendingFold.add(oldest);
+            }
+            startFold = !session.pendingFold.isEmpty() && !session.folding;
+            if (startFold) {
+                session.folding = true;
+            }
+        }
+        if (startFold) {
+            summarizer.execute(() -> fold(session));
+        }
+    }
+
+    /**
+     * Summary and recent turns of the session, ready to put in front of a
+     * question, or an empty string for a new session.
+     */
+    public String promptContext(String sessionId) {
+        Session session = sessions.get(sessionId);
+        if (session == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(256);
+        synchronized (session) {
+            session.lastAccess = System.currentTimeMillis();
+            if (!session.summary.isEmpty()) {
+                sb.append("Summary of the earlier conversation: ").append(session.summary).append('\n');
+            }
+            if (!session.turns.isEmpty()) {
+                sb.append("Recent conversation:\n");
+                for (Turn turn : session.turns) {
+                    sb.append("Visitor: ").append(turn.question()).append('\n');
+                    sb.append("Assistant: ").append(turn.answer()).append('\n');
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    public void clear(String sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long minutes = Math.max(1, idleMinutes);
+        evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "history-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        evictor.scheduleWithFixedDelay(this::evictIdle, minutes, minutes, TimeUnit.MINUTES);
+    }
+
+    void evictIdle() {
+        long cutoff = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(Math.max(1, idleMinutes));
+        sessions.entrySet().removeIf(entry -> {
+            Session session = entry.getValue();
+            synchronized (session) {
+                return session.lastAccess < cutoff && !session.folding;
+            }
+        });
+    }
+
+    /** Folds queued turns into the summary until none are left. */
+    private void fold(Session session) {
+        while (true) {
+            String previous;
+            List<Turn> batch;
+            synchronized (session) {
+                if (session.pendingFold.isEmpty()) {
+                    session.folding = false;
+                    return;
+                }
+                previous = session.summary;
+                batch = new ArrayList<>(session.pendingFold);
+                session.pendingFold.clear();
+            }
+            String updated;
+            try {
+                updated = summarize(previous, batch);
+            } catch (Exception e) {
+                System.err.println("Conversation summary failed, keeping questions only: " + e.getMessage());
+                updated = extractiveSummary(previous, batch);
+            }
+            synchronized (session) {
+                session.summary = updated;
+            }
+        }
+    }
+
+    private String summarize(String previous, List<Turn> turns) {
+        if (chatClient == null) {
+            return extractiveSummary(previous, turns);
+        }
+        StringBuilder prompt = new StringBuilder(512);
+        prompt.append("Update the summary of a conversation between a visitor and an assistant. ")
+              .append("Keep names, facts and open requests; drop small talk. Use at most ")
+              .append(Math.max(20, summaryTokens * 3 / 4)).append(" words.\n\n");
+        prompt.append("Current summary: ").append(previous.isEmpty() ? "(none)" : previous).append("\n\n");
+        prompt.append("New turns:\n");
+        for (Turn turn : turns) {
+            prompt.append("Visitor: ").append(turn.question()).append('\n');
+            prompt.append("Assistant: ").append(turn.answer()).append('\n');
+        }
+        String summary = chatClient.call(new Prompt(prompt.toString())).getResult().getOutput().getContent();
+        return trimToTokens(summary == null ? previous : summary.trim(), summaryTokens);
+    }
+
+    /** Summary without an LLM: the earlier questions, oldest dropped first. */
+    private String extractiveSummary(String previous, List<Turn> turns) {
+        StringBuilder sb = new StringBuilder(previous);
+        for (Turn turn : turns) {
+            sb.append(sb.length() == 0 ? "The visitor asked: " : "; ").append(turn.question());
+        }
+        String summary = sb.toString();
+        int maxChars = Math.max(0, summaryTokens) * 4;
+        return summary.length() <= maxChars ? summary : summary.substring(summary.length() - maxChars);
+    }
+
+    private static String trimToTokens(String text, int tokens) {
+        int maxChars = Math.max(0, tokens) * 4;
+        return text.length() <= maxChars ? text : text.substring(0, maxChars);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+        summarizer.shutdownNow();
+    }
+
+    private static final class Session {
+        final ArrayDeque<Turn> turns = new ArrayDeque<>();
+        final List<Turn> pendingFold = new ArrayList<>();
+        String summary = "";
+        int tokens;
+        boolean folding;
+        long lastAccess = System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,20 @@
+package oracleai.aiholo.agents;
+
+/**
+ * Optional interface for agents that keep per-session conversation history
+ * (see {@link ConversationHistoryStore}).
+ *
+ * Agent.processQuestion(String) answers without history, so one visitor's
+ * questions never reach the next visitor's prompt. Callers that know who is
+ * asking pass a session id per kiosk or visitor.
+ */
+public interface ConversationalAgent {
+
+    /**
+     * Answers the question in the given session, with that session's earlier
+     * turns as context, and records the turn. A null session id answers
+     * without history and records nothing, for callers that are not part of a
+     * conversation (batch replays, warmup).
+     */
+    String processQuestion(String sessionId, String question);
+}
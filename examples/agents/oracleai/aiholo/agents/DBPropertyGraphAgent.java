@@ -6,6 +6,7 @@ import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * DB Property Graph Agent that performs relationship-based queries
@@ -20,17 +21,42 @@ import java.util.Map;
  * - Oracle Database 23ai with SQL/PGQ support
  * - A property graph created via CREATE PROPERTY GRAPH
  *
+ * When PropertyGraphProjection is enabled and loaded, questions are answered
+ * from the in-memory projection instead, with multi-hop traversal up to
+ * PROPERTY_GRAPH_MAX_DEPTH and no database round trip.
+ *
  * Example graph creation:
  *   CREATE PROPERTY GRAPH my_graph
  *     VERTEX TABLES (ships, equipment)
  *     EDGE TABLES (ship_equipment BETWEEN ships AND equipment);
  */
 @Component
-public class DBPropertyGraphAgent implements Agent {
+public class DBPropertyGraphAgent implements TokenAwareAgent, AgentHints, WarmableAgent {
+
+    /** Routing words that are not part of the vertex name being searched for. */
+    private static final Set<String> NON_SEARCH_TOKENS = Set.of(
+            "graph", "query", "search", "find", "show", "related", "connected", "to", "property");
+
+    private static final int MAX_PROJECTED_EDGES = 25;
+
+    // Example: query a property graph using SQL/PGQ GRAPH_TABLE syntax
+    // This is a template — customize the graph name and MATCH pattern for your schema.
+    private static final String GRAPH_SQL = """
+            SELECT *
+            FROM GRAPH_TABLE ( my_graph
+                MATCH (v1) -[e]-> (v2)
+                WHERE v1.name LIKE ?
+                COLUMNS (v1.name AS source, e.relationship AS rel, v2.name AS target)
+            )
+            FETCH FIRST 10 ROWS ONLY
+            """;
 
     @Autowired(required = false)
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired(required = false)
+    private PropertyGraphProjection projection;
+
     @Override
     public String getName() {
         return "DB Property Graph Agent";
@@ -41,6 +67,19 @@ public class DBPropertyGraphAgent implements Agent {
         return "dbpropertygraphagent";
     }
 
+    @Override
+    public String getAgentDescription() {
+        return "Explores relationships between entities, such as ships and their equipment, with SQL/PGQ property graph queries.";
+    }
+
+    @Override
+    public List<String> getExampleUtterances() {
+        return List.of(
+            "What equipment is installed on the USS Example?",
+            "Which ships share the same radar?",
+            "How is this component connected to the rest of the fleet?");
+    }
+
     @Override
     public String[][] getKeywords() {
         return new String[][] {
@@ -53,6 +92,11 @@ public class DBPropertyGraphAgent implements Agent {
         };
     }
 
+    @Override
+    public boolean isSpeculationSafe() {
+        return true;
+    }
+
     @Override
     public boolean isConfigured() {
         return jdbcTemplate != null;
@@ -63,51 +107,88 @@ public class DBPropertyGraphAgent implements Agent {
         return true;
     }
 
+    /** Parses the GRAPH_TABLE query, unless the in-memory projection answers instead. */
     @Override
-    public String processQuestion(String question) {
-        System.out.println("DB Property Graph Agent processing: " + question);
+    public void warmUp() {
+        if (projection == null || !projection.isEnabled()) {
+            AgentJdbc.queryForList(jdbcTemplate, GRAPH_SQL, "%warmup%");
+        }
+    }
+
+    @Override
+    public String processQuestion(QuestionTokens question) {
+        AgentLog.info(() -> "DB Property Graph Agent processing: " + question.original());
 
         if (!isConfigured()) {
             return "I'm sorry, the property graph feature is not available right now. Please check the database configuration.";
         }
 
+        // Extract a search term from the already tokenized question
+        String term = question.without(NON_SEARCH_TOKENS);
+
+        if (projection != null && projection.isReady()) {
+            return answerFromProjection(term);
+        }
+
         try {
-            // Example: query a property graph using SQL/PGQ GRAPH_TABLE syntax
-            // This is a template — customize the graph name and MATCH pattern for your schema.
-            String sql = """
-                SELECT *
-                FROM GRAPH_TABLE ( my_graph
-                    MATCH (v1) -[e]-> (v2)
-                    WHERE v1.name LIKE ?
-                    COLUMNS (v1.name AS source, e.relationship AS rel, v2.name AS target)
-                )
-                FETCH FIRST 10 ROWS ONLY
-                """;
-
-            // Extract a search term from the question
-            String searchTerm = "%" + question.replaceAll("(?i)(graph|query|search|find|show|related|connected|to|property)\\s*", "").trim() + "%";
-
-            List<Map<String, Object>> results = jdbcTemplate.queryForList(sql, searchTerm);
+            String searchTerm = "%" + term + "%";
+
+            List<Map<String, Object>> results = AgentJdbc.queryForList(jdbcTemplate, GRAPH_SQL, searchTerm);
 
             if (results.isEmpty()) {
                 return "No graph relationships found matching your query.";
             }
 
-            StringBuilder sb = new StringBuilder("Graph relationships found:\n");
-            for (Map<String, Object> row : results) {
-                sb.append("  ").append(row.get("SOURCE"))
-                  .append(" --[").append(row.get("REL")).append("]--> ")
-                  .append(row.get("TARGET")).append("\n");
-            }
-
-            System.out.println("DB Property Graph Agent successfully processed graph query");
-            return sb.toString();
+            AgentLog.info("DB Property Graph Agent successfully processed graph query");
+            return formatRows(results);
 
         } catch (Exception e) {
-            System.err.println("Error in DB Property Graph Agent: " + e.getMessage());
-            e.printStackTrace();
+            AgentMetrics.markError();
+            AgentLog.error("Error in DB Property Graph Agent", e);
             return "I'm having difficulty with the graph query right now. " +
                    "Ensure a property graph is created in the database. Error: " + e.getMessage();
         }
     }
+
+    private String answerFromProjection(String term) {
+        int[] seeds = projection.findVertices(term, 5);
+        if (seeds.length == 0) {
+            return "No graph relationships found matching your query.";
+        }
+        List<PropertyGraphProjection.Edge> edges =
+                projection.neighbourhood(seeds, projection.maxDepth(), MAX_PROJECTED_EDGES);
+        if (edges.isEmpty()) {
+            return "No graph relationships found matching your query.";
+        }
+
+        AgentLog.info("DB Property Graph Agent answered from in-memory projection");
+        return formatEdges(edges);
+    }
+
+    /** Renders GRAPH_TABLE rows (SOURCE, REL, TARGET columns). */
+    static String formatRows(List<Map<String, Object>> rows) {
+        StringBuilder sb = new StringBuilder(32 + rows.size() * 48);
+        sb.append("Graph relationships found:\n");
+        for (Map<String, Object> row : rows) {
+            sb.append("  ").append(row.get("SOURCE"))
+              .append(" --[").append(row.get("REL")).append("]--> ")
+              .append(row.get("TARGET")).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /** Renders projection edges, indented by hop depth. */
+    static String formatEdges(List<PropertyGraphProjection.Edge> edges) {
+        StringBuilder sb = new StringBuilder(32 + edges.size() * 48);
+        sb.append("Graph relationships found:\n");
+        for (PropertyGraphProjection.Edge edge : edges) {
+            for (int i = 0; i < edge.depth(); i++) {
+                sb.append("  ");
+            }
+            sb.append(edge.source())
+              .append(" --[").append(edge.relationship()).append("]--> ")
+              .append(edge.target()).append('\n');
+        }
+        return sb.toString();
+    }
 }
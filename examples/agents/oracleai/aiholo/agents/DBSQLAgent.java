@@ -4,6 +4,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * DB SQL Agent that performs natural-language-to-SQL queries
  * using Oracle Database 23ai's DBMS_CLOUD_AI.
@@ -13,17 +17,26 @@ import org.springframework.stereotype.Component;
  * - Oracle Database executes the generated SQL and returns results
  * - All processing stays within the database
  *
+ * With DBSQL_PLAN_CACHE_ENABLED=true the agent asks DBMS_CLOUD_AI for the SQL
+ * only (action => 'showsql'), runs it itself and caches it in NL2SQLPlanCache,
+ * so repeated questions skip the LLM translation entirely.
+ *
  * Prerequisites:
  * - DBMS_CLOUD_AI configured with an AI profile (e.g., OPENAI, OCI_GENAI)
  * - The AI profile must be set as the current profile in the session
  *   or passed to DBMS_CLOUD_AI.GENERATE
  */
 @Component
-public class DBSQLAgent implements Agent {
+public class DBSQLAgent implements Agent, AgentHints, WarmableAgent {
+
+    private static final int MAX_ROWS_IN_ANSWER = 20;
 
     @Autowired(required = false)
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired(required = false)
+    private NL2SQLPlanCache planCache;
+
     @Override
     public String getName() {
         return "DB SQL Agent";
@@ -34,6 +47,20 @@ public class DBSQLAgent implements Agent {
         return "dbsqlagent";
     }
 
+    @Override
+    public String getAgentDescription() {
+        return "Answers questions about the application's data by translating them to SQL with DBMS_CLOUD_AI.";
+    }
+
+    @Override
+    public List<String> getExampleUtterances() {
+        return List.of(
+            "How many ships are in port right now?",
+            "Which equipment was installed after 2020?",
+            "List the customers with overdue invoices",
+            "What is the total sales amount for last month?");
+    }
+
     @Override
     public String[][] getKeywords() {
         return new String[][] {
@@ -46,6 +73,11 @@ public class DBSQLAgent implements Agent {
         };
     }
 
+    @Override
+    public boolean isSpeculationSafe() {
+        return true;
+    }
+
     @Override
     public boolean isConfigured() {
         return jdbcTemplate != null;
@@ -56,30 +88,112 @@ public class DBSQLAgent implements Agent {
         return true;
     }
 
+    /**
+     * Opens a session and makes one round trip. The DBMS_CLOUD_AI statements
+     * are not run here: each one is a billed LLM call.
+     */
+    @Override
+    public void warmUp() {
+        AgentJdbc.queryForObject(jdbcTemplate, "SELECT 1 FROM dual", Integer.class);
+    }
+
     @Override
     public String processQuestion(String question) {
-        System.out.println("DB SQL Agent processing: " + question);
+        AgentLog.info(() -> "DB SQL Agent processing: " + question);
 
         if (!isConfigured()) {
             return "I'm sorry, the DB SQL feature is not available right now. Please check the database configuration.";
         }
 
+        if (planCache != null && planCache.isEnabled()) {
+            String answer = processWithPlanCache(question);
+            if (answer != null) {
+                return answer;
+            }
+        }
+
         try {
             // Use DBMS_CLOUD_AI.GENERATE to translate natural language to SQL and execute
             // action => 'narrate' returns a natural language answer
             // action => 'showsql' returns the generated SQL
             // action => 'runsql' returns raw SQL results
             String sql = "SELECT DBMS_CLOUD_AI.GENERATE(prompt => ?, action => 'narrate') AS response FROM dual";
-            String response = jdbcTemplate.queryForObject(sql, String.class, question);
+            String response = AgentJdbc.queryForObject(jdbcTemplate, sql, String.class, question);
 
-            System.out.println("DB SQL Agent successfully processed NL2SQL query");
+            AgentLog.info("DB SQL Agent successfully processed NL2SQL query");
             return response != null ? response : "No response received from DBMS_CLOUD_AI.";
 
         } catch (Exception e) {
-            System.err.println("Error in DB SQL Agent: " + e.getMessage());
-            e.printStackTrace();
+            AgentMetrics.markError();
+            AgentLog.error("Error in DB SQL Agent", e);
             return "I'm having difficulty with the database query right now. " +
                    "Ensure DBMS_CLOUD_AI is configured with a valid AI profile. Error: " + e.getMessage();
         }
     }
+
+    /**
+     * Answers from cached or freshly generated SQL. Returns null when the
+     * question should go through 'narrate' instead (SQL not cacheable or failed).
+     */
+    private String processWithPlanCache(String question) {
+        NL2SQLPlanCache.Template template = NL2SQLPlanCache.template(question);
+
+        NL2SQLPlanCache.Plan cached = planCache.get(template);
+        if (cached != null) {
+            try {
+                List<Map<String, Object>> rows = AgentJdbc.queryForList(jdbcTemplate, cached.sql(), cached.bindArgs(template));
+                AgentLog.info("DB SQL Agent answered from cached SQL plan");
+                return formatRows(rows);
+            } catch (Exception e) {
+                System.err.println("Cached SQL plan failed, regenerating: " + e.getMessage());
+                planCache.evict(template);
+            }
+        }
+
+        try {
+            String generatedSql = AgentJdbc.queryForObject(jdbcTemplate,
+                    "SELECT DBMS_CLOUD_AI.GENERATE(prompt => ?, action => 'showsql') AS response FROM dual",
+                    String.class, question);
+            NL2SQLPlanCache.Plan plan = planCache.plan(template, generatedSql);
+            if (plan == null) {
+                AgentLog.info("DB SQL Agent: generated SQL is not a cacheable query, using narrate");
+                return null;
+            }
+            List<Map<String, Object>> rows = AgentJdbc.queryForList(jdbcTemplate, plan.sql(), plan.bindArgs(template));
+            planCache.put(template, plan);
+            AgentLog.info("DB SQL Agent cached a new SQL plan");
+            return formatRows(rows);
+        } catch (Exception e) {
+            System.err.println("DB SQL Agent could not run generated SQL, using narrate: " + e.getMessage());
+            return null;
+        }
+    }
+
+    static String formatRows(List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return "No matching data was found.";
+        }
+        if (rows.size() == 1 && rows.get(0).size() == 1) {
+            return "The answer is " + rows.get(0).values().iterator().next() + ".";
+        }
+        StringBuilder sb = new StringBuilder("Here is what I found:\n");
+        int count = 0;
+        for (Map<String, Object> row : rows) {
+            if (count++ == MAX_ROWS_IN_ANSWER) {
+                sb.append("  ...and ").append(rows.size() - MAX_ROWS_IN_ANSWER).append(" more\n");
+                break;
+            }
+            sb.append("  ");
+            boolean first = true;
+            for (Map.Entry<String, Object> column : row.entrySet()) {
+                if (!first) {
+                    sb.append(", ");
+                }
+                sb.append(column.getKey().toLowerCase(Locale.ROOT)).append(": ").append(column.getValue());
+                first = false;
+            }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
 }
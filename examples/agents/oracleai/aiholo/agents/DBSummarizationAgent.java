@@ -1,9 +1,14 @@
 package oracleai.aiholo.agents;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 /**
  * DB Summarization Agent that performs document summarization
  * using Oracle Database 23ai's DBMS_VECTOR_CHAIN.
@@ -13,16 +18,30 @@ import org.springframework.stereotype.Component;
  * - Oracle Database 23ai vector chain processing
  * - All summarization processing stays within the database
  *
+ * If the question names a document ingested through /vectorrag (for example
+ * "summarize oracle-23ai-guide.pdf"), the stored text of that document is
+ * summarized instead of the question. Long texts go through DocumentSummarizer:
+ * chunked with UTL_TO_CHUNKS, summarized in parallel, reduced, and cached by
+ * content hash.
+ *
  * Prerequisites:
  * - Oracle Database 23ai with DBMS_VECTOR_CHAIN package available
  * - An LLM credential configured (e.g., OCI GenAI, or a third-party provider)
  */
 @Component
-public class DBSummarizationAgent implements Agent {
+public class DBSummarizationAgent implements Agent, AgentHints, WarmableAgent {
+
+    private static final Pattern DOCUMENT_NAME = Pattern.compile("([\\w.-]+\\.(?:pdf|txt|docx?|md))", Pattern.CASE_INSENSITIVE);
 
     @Autowired(required = false)
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private DocumentSummarizer summarizer;
+
+    @Value("${vectorrag.table-name:vector_store}")
+    private String documentTable;
+
     @Override
     public String getName() {
         return "DB Summarization Agent";
@@ -33,6 +52,19 @@ public class DBSummarizationAgent implements Agent {
         return "dbsummarizationagent";
     }
 
+    @Override
+    public String getAgentDescription() {
+        return "Summarizes documents and long text inside the database with DBMS_VECTOR_CHAIN.";
+    }
+
+    @Override
+    public List<String> getExampleUtterances() {
+        return List.of(
+            "Give me a short summary of the maintenance manual",
+            "What are the key points of fleet-report.pdf?",
+            "Can you condense this document for me?");
+    }
+
     @Override
     public String[][] getKeywords() {
         return new String[][] {
@@ -44,6 +76,11 @@ public class DBSummarizationAgent implements Agent {
         };
     }
 
+    @Override
+    public boolean isSpeculationSafe() {
+        return true;
+    }
+
     @Override
     public boolean isConfigured() {
         return jdbcTemplate != null;
@@ -54,34 +91,57 @@ public class DBSummarizationAgent implements Agent {
         return true;
     }
 
+    /** Parses the document lookup against the vector store table. */
+    @Override
+    public void warmUp() {
+        loadDocument("warmup.pdf");
+    }
+
     @Override
     public String processQuestion(String question) {
-        System.out.println("DB Summarization Agent processing: " + question);
+        AgentLog.info(() -> "DB Summarization Agent processing: " + question);
 
         if (!isConfigured()) {
             return "I'm sorry, the summarization feature is not available right now. Please check the database configuration.";
         }
 
         try {
-            // Use DBMS_VECTOR_CHAIN.UTL_TO_SUMMARY for in-database summarization
-            // The text to summarize is passed as the question; in a real deployment
-            // you would retrieve the document content from the database first.
-            String sql = """
-                SELECT DBMS_VECTOR_CHAIN.UTL_TO_SUMMARY(
-                    ?,
-                    JSON('{"provider":"database", "glevel":"paragraph", "numParagraphs":2}')
-                ) AS summary FROM dual
-                """;
-            String response = jdbcTemplate.queryForObject(sql, String.class, question);
-
-            System.out.println("DB Summarization Agent successfully processed summarization request");
+            // Summarize a stored document when one is named, otherwise the question text itself
+            String text = question;
+            Matcher documentName = DOCUMENT_NAME.matcher(question);
+            if (documentName.find()) {
+                String document = loadDocument(documentName.group(1));
+                if (document == null) {
+                    return "I couldn't find a document named " + documentName.group(1) + " to summarize.";
+                }
+                text = document;
+            }
+
+            String response = summarizer.summarize(text);
+
+            AgentLog.info("DB Summarization Agent successfully processed summarization request");
             return response != null ? response : "No summary could be generated.";
 
         } catch (Exception e) {
-            System.err.println("Error in DB Summarization Agent: " + e.getMessage());
-            e.printStackTrace();
+            AgentMetrics.markError();
+            AgentLog.error("Error in DB Summarization Agent", e);
             return "I'm having difficulty summarizing right now. " +
                    "Ensure DBMS_VECTOR_CHAIN is configured. Error: " + e.getMessage();
         }
     }
+
+    /**
+     * Reassembles a document ingested through /vectorrag from its stored chunks,
+     * or returns null if no chunks carry that file name. Chunks are put back in
+     * page and chunk order; parallel ingestion does not insert them in document
+     * order, so id order is only the tie-breaker (rows without these keys).
+     */
+    private String loadDocument(String fileName) {
+        List<String> chunks = AgentJdbc.query(jdbcTemplate,
+                "SELECT text FROM " + documentTable + " WHERE JSON_VALUE(metadata, '$.file_name') = ?"
+                        + " ORDER BY JSON_VALUE(metadata, '$.page_number' RETURNING NUMBER) NULLS FIRST,"
+                        + " JSON_VALUE(metadata, '$.chunk_index' RETURNING NUMBER) NULLS FIRST, id",
+                (rs, rowNum) -> rs.getString(1), fileName);
+        return chunks.isEmpty() ? null : String.join("\n", chunks);
+    }
 }
@@ -0,0 +1,110 @@
+package oracleai.aiholo.agents;
+
+import dev.langchain4j.agent.tool.P;
+import dev.langchain4j.agent.tool.Tool;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Langchain4j {@code @Tool} methods over the application schema, used by
+ * Langchain4jToolAgent.
+ *
+ * Table and column metadata comes from the {@link SchemaCatalog} snapshot, so
+ * listing and describing tables needs no dictionary query. Tools that read
+ * data only accept table names present in the catalog, and the name is taken
+ * from the catalog (not from the LLM) when building SQL.
+ */
+public class DatabaseTools {
+
+    static final int MAX_SAMPLE_ROWS = 10;
+
+    private final SchemaCatalog catalog;
+    private final JdbcTemplate jdbcTemplate;
+
+    public DatabaseTools(SchemaCatalog catalog, JdbcTemplate jdbcTemplate) {
+        this.catalog = catalog;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Tool("Lists the tables in the application database with their descriptions")
+    public String listTables() {
+        return formatTables(catalog.snapshot().tables().values());
+    }
+
+    @Tool("Describes the columns of a database table")
+    public String describeTable(@P("the table name") String tableName) {
+        SchemaCatalog.Table table = catalog.snapshot().table(tableName);
+        if (table == null) {
+            return unknownTable(tableName);
+        }
+        return formatTable(table);
+    }
+
+    @Tool("Counts the rows in a database table")
+    public String countRows(@P("the table name") String tableName) {
+        SchemaCatalog.Table table = catalog.snapshot().table(tableName);
+        if (table == null) {
+            return unknownTable(tableName);
+        }
+        Long count = AgentJdbc.queryForObject(jdbcTemplate,
+                "SELECT COUNT(*) FROM \"" + table.name() + "\"", Long.class);
+        return "Table " + table.name() + " has " + count + " rows.";
+    }
+
+    @Tool("Returns a few sample rows from a database table")
+    public String sampleRows(@P("the table name") String tableName) {
+        SchemaCatalog.Table table = catalog.snapshot().table(tableName);
+        if (table == null) {
+            return unknownTable(tableName);
+        }
+        List<Map<String, Object>> rows = AgentJdbc.queryForList(jdbcTemplate,
+                "SELECT * FROM \"" + table.name() + "\" FETCH FIRST " + MAX_SAMPLE_ROWS + " ROWS ONLY");
+        if (rows.isEmpty()) {
+            return "Table " + table.name() + " is empty.";
+        }
+        StringBuilder sb = new StringBuilder("Sample rows from ").append(table.name()).append(":\n");
+        for (Map<String, Object> row : rows) {
+            sb.append("  ").append(row).append('\n');
+        }
+        return sb.toString();
+    }
+
+    static String formatTables(Iterable<SchemaCatalog.Table> tables) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Available database tables:\n");
+        for (SchemaCatalog.Table table : tables) {
+            sb.append("  - ").append(table.name());
+            if (table.comment() != null) {
+                sb.append(": ").append(table.comment());
+            }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
+    static String formatTable(SchemaCatalog.Table table) {
+        StringBuilder sb = new StringBuilder(64 + table.columns().size() * 40);
+        sb.append("Table ").append(table.name());
+        if (table.comment() != null) {
+            sb.append(" (").append(table.comment()).append(')');
+        }
+        sb.append(" has columns:\n");
+        for (SchemaCatalog.Column column : table.columns()) {
+            sb.append("  - ").append(column.name()).append(' ').append(column.dataType());
+            if (!column.nullable()) {
+                sb.append(" NOT NULL");
+            }
+            if (column.comment() != null) {
+                sb.append(" -- ").append(column.comment());
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String unknownTable(String tableName) {
+        return "There is no table named " + tableName + " in the application schema.";
+    }
+}
@@ -0,0 +1,37 @@
+package oracleai.aiholo.agents;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Static grounding context with the Oracle Database version, used by
+ * SpringAIChatAgent. Computed once by {@link GroundingContextAssembler} and
+ * refreshed in the background instead of being queried per question.
+ */
+@Component
+public class DatabaseVersionContextProvider implements GroundingContextProvider {
+
+    @Autowired(required = false)
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public String getName() {
+        return "database-version";
+    }
+
+    @Override
+    public boolean isStatic() {
+        return true;
+    }
+
+    @Override
+    public String context(QuestionTokens question) {
+        if (jdbcTemplate == null) {
+            return null;
+        }
+        return jdbcTemplate.queryForObject(
+                "SELECT 'Database: Oracle ' || version_full FROM product_component_version WHERE ROWNUM = 1",
+                String.class);
+    }
+}
@@ -0,0 +1,198 @@
+package oracleai.aiholo.agents;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Map-reduce summarization with DBMS_VECTOR_CHAIN for DBSummarizationAgent.
+ *
+ * Short texts are summarized with a single UTL_TO_SUMMARY call, as before.
+ * Longer texts are:
+ * 1. split with DBMS_VECTOR_CHAIN.UTL_TO_CHUNKS
+ * 2. summarized chunk by chunk in parallel, at most SUMMARY_MAX_PARALLEL calls at a time
+ * 3. reduced by summarizing the concatenated partial summaries (repeated
+ *    if the partial summaries are themselves still long, for at most
+ *    MAX_REDUCE_ROUNDS rounds and only while each round shortens the text;
+ *    otherwise the start of the partial summaries is summarized in one call)
+ *
+ * Results are cached by the SHA-256 of the text, so re-summarizing an unchanged
+ * document costs nothing.
+ *
+ * Configuration:
+ * - SUMMARY_CHUNK_WORDS (words per chunk, default 400)
+ * - SUMMARY_MAX_PARALLEL (default 4)
+ * - SUMMARY_CACHE_MAX_ENTRIES (default 200)
+ */
+@Component
+public class DocumentSummarizer {
+
+    private static final String SUMMARY_SQL = """
+            SELECT DBMS_VECTOR_CHAIN.UTL_TO_SUMMARY(
+                ?,
+                JSON('{"provider":"database", "glevel":"paragraph", "numParagraphs":2}')
+            ) AS summary FROM dual
+            """;
+
+    private static final String CHUNK_SQL = """
+            SELECT c.chunk_data
+            FROM TABLE(DBMS_VECTOR_CHAIN.UTL_TO_CHUNKS(?, JSON(?))) t,
+                 JSON_TABLE(t.column_value, '$' COLUMNS (chunk_id NUMBER PATH '$.chunk_id',
+                                                        chunk_data CLOB PATH '$.chunk_data')) c
+            ORDER BY c.chunk_id
+            """;
+
+    /** Texts up to this many characters are summarized in one call. */
+    private static final int SINGLE_CALL_MAX_CHARS = 4000;
+
+    /** Map-reduce rounds before the remaining text is truncated and summarized in one call. */
+    private static final int MAX_REDUCE_ROUNDS = 3;
+
+    @Autowired(required = false)
+    private JdbcTemplate jdbcTemplate;
+
+    private final int chunkWords;
+    private final Semaphore permits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, String> cache;
+
+    public DocumentSummarizer(@Value("${SUMMARY_CHUNK_WORDS:400}") int chunkWords,
+                              @Value("${SUMMARY_MAX_PARALLEL:4}") int maxParallel,
+                              @Value("${SUMMARY_CACHE_MAX_ENTRIES:200}") int maxCacheEntries) {
+        this.chunkWords = chunkWords;
+        this.permits = new Semaphore(Math.max(1, maxParallel));
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxCacheEntries;
+            }
+        };
+    }
+
+    public boolean isConfigured() {
+        return jdbcTemplate != null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Summarizes the text, from cache when the same content was summarized before.
+     */
+    public String summarize(String text) throws Exception {
+        String hash = sha256(text);
+        synchronized (cache) {
+            String cached = cache.get(hash);
+            if (cached != null) {
+                System.out.println("Summary served from cache for content " + hash.substring(0, 12));
+                return cached;
+            }
+        }
+
+        String summary = text.length() <= SINGLE_CALL_MAX_CHARS ? summarizeOnce(text) : mapReduce(text, 1);
+        if (summary != null) {
+            synchronized (cache) {
+                cache.put(hash, summary);
+            }
+        }
+        return summary;
+    }
+
+    private String mapReduce(String text, int round) throws Exception {
+        List<String> chunks = chunk(text);
+        if (chunks.size() <= 1) {
+            return summarizeOnce(text);
+        }
+        long start = System.currentTimeMillis();
+
+        // Chunk calls run on their own virtual threads but share the caller's deadline
+        AgentCallScope scope = AgentCallScope.current();
+        List<Future<String>> partials = new ArrayList<>(chunks.size());
+        for (String chunk : chunks) {
+            partials.add(executor.submit(() -> {
+                if (scope != null) {
+                    scope.enter();
+                }
+                permits.acquire();
+                try {
+                    return summarizeOnce(chunk);
+                } finally {
+                    permits.release();
+                    if (scope != null) {
+                        scope.exit();
+                    }
+                }
+            }));
+        }
+
+        StringBuilder combined = new StringBuilder();
+        boolean completed = false;
+        try {
+            for (Future<String> partial : partials) {
+                String summary = partial.get();
+                if (summary != null && !summary.isBlank()) {
+                    combined.append(summary.trim()).append("\n\n");
+                }
+            }
+            completed = true;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } finally {
+            if (!completed) {
+                partials.forEach(f -> f.cancel(true));
+            }
+        }
+        System.out.println("Summarized " + chunks.size() + " chunks in parallel in "
+                + (System.currentTimeMillis() - start) + " ms");
+
+        // Reduce: the partial summaries may themselves need another map-reduce round,
+        // unless the rounds are used up or this one did not make the text shorter
+        String reduced = combined.toString();
+        if (reduced.length() <= SINGLE_CALL_MAX_CHARS) {
+            return summarizeOnce(reduced);
+        }
+        if (round >= MAX_REDUCE_ROUNDS || reduced.length() >= text.length()) {
+            System.out.println("Summary reduce stopped after round " + round + " at " + reduced.length()
+                    + " chars; summarizing the first " + SINGLE_CALL_MAX_CHARS);
+            return summarizeOnce(reduced.substring(0, SINGLE_CALL_MAX_CHARS));
+        }
+        return mapReduce(reduced, round + 1);
+    }
+
+    private List<String> chunk(String text) {
+        String params = "{\"by\":\"words\", \"max\":\"" + chunkWords
+                + "\", \"overlap\":\"0\", \"split\":\"sentence\", \"normalize\":\"all\"}";
+        return AgentJdbc.query(jdbcTemplate, CHUNK_SQL, (rs, rowNum) -> rs.getString(1), text, params);
+    }
+
+    private String summarizeOnce(String text) {
+        return AgentJdbc.queryForObject(jdbcTemplate, SUMMARY_SQL, String.class, text);
+    }
+
+    static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
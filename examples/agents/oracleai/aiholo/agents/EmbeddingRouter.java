@@ -0,0 +1,153 @@
+package oracleai.aiholo.agents;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Semantic router for AGENT_ROUTING_MODE=embedding.
+ *
+ * At compile time every routable agent's getAgentDescription() and its
+ * {@link AgentHints#getExampleUtterances()} are embedded with the local
+ * embedding model ({@link QueryEmbeddingService}) and packed row by row into
+ * one contiguous float matrix. Routing a question is then one query embedding
+ * (cached for repeated questions) plus a dot product per row; vectors are
+ * normalized, so the dot product is the cosine similarity.
+ *
+ * The agent owning the best-scoring row wins if the score reaches
+ * EMBEDDING_ROUTING_THRESHOLD. Below it, or when no embedding model is
+ * configured, the question is routed by {@link KeywordRouter} as in keyword
+ * mode. Agents with empty getKeywords() are fallbacks and are never chosen
+ * semantically, same as in keyword mode.
+ *
+ * AgentService calls {@link #compile(List)} with the enabled agents, after
+ * KeywordRouter has been compiled with the same list.
+ */
+@Component
+public class EmbeddingRouter {
+
+    @Autowired
+    private QueryEmbeddingService embeddings;
+
+    @Autowired
+    private KeywordRouter keywordRouter;
+
+    @Autowired(required = false)
+    private AgentMetrics metrics;
+
+    @Value("${EMBEDDING_ROUTING_THRESHOLD:0.55}")
+    private float threshold;
+
+    private volatile Compiled compiled = Compiled.EMPTY;
+
+    public EmbeddingRouter() {
+    }
+
+    /**
+     * A router outside the Spring context, compiled for its own set of agents
+     * (see {@link BatchQuestionService}); it records no routing metrics.
+     */
+    EmbeddingRouter(QueryEmbeddingService embeddings, KeywordRouter keywordRouter, float threshold) {
+        this.embeddings = embeddings;
+        this.keywordRouter = keywordRouter;
+        this.threshold = threshold;
+    }
+
+    private record Compiled(Agent[] rowOwners, float[] matrix, int dimensions) {
+        static final Compiled EMPTY = new Compiled(new Agent[0], new float[0], 0);
+    }
+
+    /**
+     * Embeds the descriptions and example utterances of the given agents.
+     * Leaves the previous matrix in place if embedding fails.
+     */
+    public void compile(List<? extends Agent> agentsInRegistrationOrder) {
+        if (!embeddings.isConfigured()) {
+            System.out.println("Embedding router: no EmbeddingModel configured, using keyword routing");
+            return;
+        }
+        List<String> texts = new ArrayList<>();
+        List<Agent> owners = new ArrayList<>();
+        for (Agent agent : agentsInRegistrationOrder) {
+            String[][] keywords = agent.getKeywords();
+            if (keywords == null || keywords.length == 0) {
+                continue;
+            }
+            String description = agent.getAgentDescription();
+            if (description != null && !description.isBlank()) {
+                texts.add(description);
+                owners.add(agent);
+            }
+            if (agent instanceof AgentHints hints) {
+                for (String utterance : hints.getExampleUtterances()) {
+                    texts.add(utterance);
+                    owners.add(agent);
+                }
+            }
+        }
+        if (texts.isEmpty()) {
+            compiled = Compiled.EMPTY;
+            return;
+        }
+        try {
+            List<float[]> vectors = embeddings.embedAll(texts);
+            int dimensions = vectors.get(0).length;
+            float[] matrix = new float[vectors.size() * dimensions];
+            for (int row = 0; row < vectors.size(); row++) {
+                System.arraycopy(vectors.get(row), 0, matrix, row * dimensions, dimensions);
+            }
+            compiled = new Compiled(owners.toArray(new Agent[0]), matrix, dimensions);
+            System.out.println("Embedding router compiled " + vectors.size() + " vectors (" + dimensions
+                    + " dimensions) for " + agentsInRegistrationOrder.size() + " agents");
+        } catch (Exception e) {
+            System.err.println("Embedding router compile failed, keeping previous vectors: " + e.getMessage());
+        }
+    }
+
+    public Agent route(QuestionTokens question) {
+        long start = System.nanoTime();
+        Agent agent = match(question);
+        if (metrics != null) {
+            metrics.recordRouting(agent, System.nanoTime() - start);
+        }
+        return agent;
+    }
+
+    public Agent route(String question) {
+        return route(QuestionTokens.of(question));
+    }
+
+    private Agent match(QuestionTokens question) {
+        Compiled c = compiled;
+        if (c.rowOwners().length > 0) {
+            try {
+                float[] query = embeddings.embed(question.original());
+                if (query.length == c.dimensions()) {
+                    int bestRow = -1;
+                    float bestScore = Float.NEGATIVE_INFINITY;
+                    float[] matrix = c.matrix();
+                    int dims = c.dimensions();
+                    for (int row = 0, offset = 0; row < c.rowOwners().length; row++, offset += dims) {
+                        float dot = 0f;
+                        for (int i = 0; i < dims; i++) {
+                            dot += matrix[offset + i] * query[i];
+                        }
+                        if (dot > bestScore) {
+                            bestScore = dot;
+                            bestRow = row;
+                        }
+                    }
+                    if (bestScore >= threshold) {
+                        return c.rowOwners()[bestRow];
+                    }
+                }
+            } catch (Exception e) {
+                System.err.println("Embedding routing failed, using keyword routing: " + e.getMessage());
+            }
+        }
+        return keywordRouter.match(question);
+    }
+}
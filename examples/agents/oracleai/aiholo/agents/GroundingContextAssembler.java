@@ -0,0 +1,154 @@
+package oracleai.aiholo.agents;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the grounding context for LLM prompts from all
+ * {@link GroundingContextProvider} beans.
+ *
+ * - Static providers are evaluated at startup and then every
+ *   GROUNDING_STATIC_REFRESH_SECONDS on a background thread. Requests read the
+ *   last good value and never wait for them. If a refresh fails, the previous
+ *   value is kept.
+ * - Dynamic providers run concurrently on virtual threads for each question.
+ *   Each is bounded by its own deadline (and by the remaining time of the
+ *   surrounding {@link AgentCallScope}, if any); late or failing providers
+ *   contribute nothing.
+ *
+ * The assembled context is one line per provider, static providers first, in
+ * bean order. With no dynamic providers, {@link #assemble(QuestionTokens)}
+ * completes immediately.
+ */
+@Component
+public class GroundingContextAssembler {
+
+    @Autowired(required = false)
+    private List<GroundingContextProvider> providers = List.of();
+
+    @Value("${GROUNDING_STATIC_REFRESH_SECONDS:600}")
+    private long staticRefreshSeconds;
+
+    private final Map<String, String> staticValues = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private List<GroundingContextProvider> staticProviders = List.of();
+    private List<GroundingContextProvider> dynamicProviders = List.of();
+    private volatile String staticContext = "";
+    private ScheduledExecutorService refresher;
+
+    @PostConstruct
+    public void init() {
+        staticProviders = providers.stream().filter(GroundingContextProvider::isStatic).toList();
+        dynamicProviders = providers.stream().filter(p -> !p.isStatic()).toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (staticProviders.isEmpty()) {
+            return;
+        }
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "grounding-context-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+        refresher.scheduleWithFixedDelay(this::refreshStaticContext, 0, staticRefreshSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+        executor.shutdownNow();
+    }
+
+    /**
+     * Re-evaluates every static provider and publishes the combined result.
+     */
+    public void refreshStaticContext() {
+        StringBuilder sb = new StringBuilder();
+        for (GroundingContextProvider provider : staticProviders) {
+            try {
+                String value = provider.context(null);
+                staticValues.put(provider.getName(), value == null ? "" : value);
+            } catch (Exception e) {
+                System.err.println("Grounding context provider " + provider.getName()
+                        + " failed, keeping previous value: " + e.getMessage());
+            }
+            appendLine(sb, staticValues.get(provider.getName()));
+        }
+        staticContext = sb.toString();
+    }
+
+    /** The current static context, without waiting for anything. */
+    public String staticContext() {
+        return staticContext;
+    }
+
+    /**
+     * Collects the context for a question. The returned future completes once
+     * every dynamic provider has answered or hit its deadline.
+     */
+    public CompletableFuture<String> assemble(QuestionTokens question) {
+        String base = staticContext;
+        List<GroundingContextProvider> dynamic = dynamicProviders;
+        if (dynamic.isEmpty()) {
+            return CompletableFuture.completedFuture(base);
+        }
+
+        AgentCallScope scope = AgentCallScope.current();
+        List<CompletableFuture<String>> parts = new ArrayList<>(dynamic.size());
+        for (GroundingContextProvider provider : dynamic) {
+            long deadline = provider.deadlineMillis();
+            if (scope != null) {
+                deadline = Math.min(deadline, scope.remainingMillis());
+            }
+            parts.add(CompletableFuture.supplyAsync(() -> provider.context(question), executor)
+                    .exceptionally(e -> {
+                        System.err.println("Grounding context provider " + provider.getName()
+                                + " failed: " + e.getMessage());
+                        return null;
+                    })
+                    .completeOnTimeout(null, deadline, TimeUnit.MILLISECONDS));
+        }
+
+        return CompletableFuture.allOf(parts.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            StringBuilder sb = new StringBuilder(base);
+            for (CompletableFuture<String> part : parts) {
+                appendLine(sb, part.join());
+            }
+            return sb.toString();
+        });
+    }
+
+    /** Blocking form of {@link #assemble(QuestionTokens)}. */
+    public String contextFor(QuestionTokens question) {
+        return assemble(question).join();
+    }
+
+    private static void appendLine(StringBuilder sb, String value) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        if (sb.length() > 0) {
+            sb.append('\n');
+        }
+        sb.append(value.strip());
+    }
+}
@@ -0,0 +1,37 @@
+package oracleai.aiholo.agents;
+
+/**
+ * A source of grounding context for LLM prompts, collected by
+ * {@link GroundingContextAssembler}.
+ *
+ * Static providers describe facts that do not depend on the question (the
+ * database version, the current event, ...). The assembler computes them once
+ * and refreshes them in the background, so they cost nothing per request.
+ *
+ * Dynamic providers are called for every question. All dynamic providers run
+ * concurrently, and each one gets {@link #deadlineMillis()} to answer; a slow
+ * or failing provider is simply left out of the prompt.
+ *
+ * Implementations are Spring beans and are picked up automatically.
+ */
+public interface GroundingContextProvider {
+
+    /** Short label used for logging. */
+    String getName();
+
+    /**
+     * Returns the context text, or null/empty when there is nothing to add.
+     * Static providers are called with a null question.
+     */
+    String context(QuestionTokens question);
+
+    /** True when the context does not depend on the question. */
+    default boolean isStatic() {
+        return false;
+    }
+
+    /** How long a dynamic provider may take before it is skipped. */
+    default long deadlineMillis() {
+        return 300;
+    }
+}
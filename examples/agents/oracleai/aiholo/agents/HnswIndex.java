@@ -0,0 +1,259 @@
+package oracleai.aiholo.agents;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Hierarchical Navigable Small World graph over L2-normalized vectors.
+ *
+ * All vectors live in one contiguous float[] (row-major, dimension fixed by the
+ * first insert) and neighbour lists are primitive int arrays, so searching does
+ * not chase per-vector objects. Similarity is the dot product, which equals
+ * cosine similarity for normalized vectors.
+ *
+ * Searches run concurrently under a read lock; inserts take the write lock.
+ * Each node stores the caller's long id (e.g. the vector_store primary key).
+ */
+final class HnswIndex {
+
+    /** One search hit: the caller's id and its cosine similarity to the query. */
+    record Hit(long id, float score) {
+    }
+
+    private final int m;
+    private final int maxLinksLevel0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int dimension = -1;
+    private float[] vectors = new float[0];
+    private long[] ids = new long[0];
+    private int[][][] links = new int[0][][];   // node -> level -> [count, neighbours...]
+    private int size;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    HnswIndex(int m, int efConstruction) {
+        this.m = m;
+        this.maxLinksLevel0 = m * 2;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1 / Math.log(m);
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int dimension() {
+        return dimension;
+    }
+
+    void add(long id, float[] normalizedVector) {
+        lock.writeLock().lock();
+        try {
+            if (dimension < 0) {
+                dimension = normalizedVector.length;
+            } else if (normalizedVector.length != dimension) {
+                throw new IllegalArgumentException("Expected dimension " + dimension + " but got " + normalizedVector.length);
+            }
+            int level = (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier);
+            int node = allocate(id, normalizedVector, level);
+
+            if (entryPoint < 0) {
+                entryPoint = node;
+                maxLevel = level;
+                return;
+            }
+
+            int ep = entryPoint;
+            for (int l = maxLevel; l > level; l--) {
+                ep = greedyClosest(normalizedVector, ep, l);
+            }
+            for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+                List<int[]> candidates = searchLayer(normalizedVector, ep, efConstruction, l);
+                int limit = Math.min(m, candidates.size());
+                for (int i = 0; i < limit; i++) {
+                    int neighbour = candidates.get(i)[0];
+                    link(node, neighbour, l);
+                    link(neighbour, node, l);
+                }
+                ep = candidates.get(0)[0];
+            }
+            if (level > maxLevel) {
+                maxLevel = level;
+                entryPoint = node;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to k nearest entries, most similar first.
+     */
+    List<Hit> search(float[] normalizedQuery, int k, int efSearch) {
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0 || normalizedQuery.length != dimension) {
+                return List.of();
+            }
+            int ep = entryPoint;
+            for (int l = maxLevel; l > 0; l--) {
+                ep = greedyClosest(normalizedQuery, ep, l);
+            }
+            List<int[]> nearest = searchLayer(normalizedQuery, ep, Math.max(efSearch, k), 0);
+            List<Hit> hits = new ArrayList<>(Math.min(k, nearest.size()));
+            for (int i = 0; i < nearest.size() && i < k; i++) {
+                int node = nearest.get(i)[0];
+                hits.add(new Hit(ids[node], similarity(normalizedQuery, node)));
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int allocate(long id, float[] vector, int level) {
+        if (size == ids.length) {
+            int capacity = Math.max(1024, size * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            links = Arrays.copyOf(links, capacity);
+            vectors = Arrays.copyOf(vectors, capacity * dimension);
+        }
+        int node = size++;
+        ids[node] = id;
+        System.arraycopy(vector, 0, vectors, node * dimension, dimension);
+        links[node] = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            links[node][l] = new int[(l == 0 ? maxLinksLevel0 : m) + 1];
+        }
+        return node;
+    }
+
+    private void link(int from, int to, int level) {
+        int[] list = links[from][level];
+        int count = list[0];
+        for (int i = 1; i <= count; i++) {
+            if (list[i] == to) {
+                return;
+            }
+        }
+        if (count < list.length - 1) {
+            list[count + 1] = to;
+            list[0] = count + 1;
+            return;
+        }
+        // Full: replace the least similar neighbour if the new one is closer
+        int base = from * dimension;
+        int worstIndex = -1;
+        float worst = similarity(vectors, base, to);
+        for (int i = 1; i <= count; i++) {
+            float s = similarity(vectors, base, list[i]);
+            if (s < worst) {
+                worst = s;
+                worstIndex = i;
+            }
+        }
+        if (worstIndex > 0) {
+            list[worstIndex] = to;
+        }
+    }
+
+    private int greedyClosest(float[] query, int start, int level) {
+        int current = start;
+        float best = similarity(query, current);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int[] list = links[current][level];
+            for (int i = 1; i <= list[0]; i++) {
+                float s = similarity(query, list[i]);
+                if (s > best) {
+                    best = s;
+                    current = list[i];
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Beam search on one layer. Returns [node, similarity bits] pairs, most similar first.
+     */
+    private List<int[]> searchLayer(float[] query, int start, int ef, int level) {
+        BitSet visited = new BitSet(size);
+        Comparator<int[]> bySimilarity = Comparator.comparingDouble(c -> Float.intBitsToFloat(c[1]));
+        PriorityQueue<int[]> candidates = new PriorityQueue<>(bySimilarity.reversed());
+        PriorityQueue<int[]> results = new PriorityQueue<>(bySimilarity);
+
+        int[] first = {start, Float.floatToRawIntBits(similarity(query, start))};
+        visited.set(start);
+        candidates.add(first);
+        results.add(first);
+
+        while (!candidates.isEmpty()) {
+            int[] current = candidates.poll();
+            float worst = Float.intBitsToFloat(results.peek()[1]);
+            if (Float.intBitsToFloat(current[1]) < worst && results.size() >= ef) {
+                break;
+            }
+            int[][] nodeLinks = links[current[0]];
+            if (level >= nodeLinks.length) {
+                continue;
+            }
+            int[] list = nodeLinks[level];
+            for (int i = 1; i <= list[0]; i++) {
+                int neighbour = list[i];
+                if (visited.get(neighbour)) {
+                    continue;
+                }
+                visited.set(neighbour);
+                float s = similarity(query, neighbour);
+                if (results.size() < ef || s > Float.intBitsToFloat(results.peek()[1])) {
+                    int[] entry = {neighbour, Float.floatToRawIntBits(s)};
+                    candidates.add(entry);
+                    results.add(entry);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+
+        List<int[]> ordered = new ArrayList<>(results);
+        ordered.sort(bySimilarity.reversed());
+        return ordered;
+    }
+
+    private float similarity(float[] query, int node) {
+        int base = node * dimension;
+        float sum = 0;
+        for (int i = 0; i < dimension; i++) {
+            sum += query[i] * vectors[base + i];
+        }
+        return sum;
+    }
+
+    private float similarity(float[] store, int baseA, int nodeB) {
+        int baseB = nodeB * dimension;
+        float sum = 0;
+        for (int i = 0; i < dimension; i++) {
+            sum += store[baseA + i] * store[baseB + i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,210 @@
+package oracleai.aiholo.agents;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Optional in-JVM approximate nearest-neighbour index mirroring the Oracle
+ * vector store table used by OracleDBVectorStore.
+ *
+ * When enabled, the embeddings column of the vector_store table is loaded into
+ * an {@link HnswIndex} after startup. Similarity searches are then answered in
+ * memory, and the database is only asked for the text and metadata of the final
+ * top-K rows (a primary-key lookup instead of a COSINE_DISTANCE scan).
+ *
+ * SpringAIVectorRAGAgent retrieves through this index once it is ready.
+ *
+ * The database remains the source of truth:
+ * - new rows are picked up incrementally (by increasing id) on VectorStoreChangedEvent,
+ *   on a background thread so the publisher (e.g. ingestion) is not held up
+ * - a dropped/recreated table triggers a full rebuild
+ * - until the first load completes, {@link #isReady()} is false and callers
+ *   should keep using the database search
+ *
+ * Configuration:
+ * - VECTORRAG_ANN_INDEX_ENABLED (default false)
+ * - VECTORRAG_ANN_M (graph degree, default 16)
+ * - VECTORRAG_ANN_EF_CONSTRUCTION (default 100)
+ * - VECTORRAG_ANN_EF_SEARCH (default 64)
+ */
+@Component
+public class InMemoryVectorIndex {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Autowired(required = false)
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired(required = false)
+    private EmbeddingClient embeddingClient;
+
+    @Value("${VECTORRAG_ANN_INDEX_ENABLED:false}")
+    private boolean enabled;
+
+    @Value("${vectorrag.table-name:vector_store}")
+    private String tableName;
+
+    @Value("${VECTORRAG_ANN_M:16}")
+    private int m;
+
+    @Value("${VECTORRAG_ANN_EF_CONSTRUCTION:100}")
+    private int efConstruction;
+
+    @Value("${VECTORRAG_ANN_EF_SEARCH:64}")
+    private int efSearch;
+
+    private volatile HnswIndex index;
+    private volatile boolean ready;
+    private long maxLoadedId = Long.MIN_VALUE;
+
+    public boolean isEnabled() {
+        return enabled && jdbcTemplate != null;
+    }
+
+    public boolean isReady() {
+        return isEnabled() && ready;
+    }
+
+    public int size() {
+        HnswIndex current = index;
+        return current == null ? 0 : current.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!isEnabled()) {
+            return;
+        }
+        Thread.ofVirtual().name("vector-index-loader").start(this::rebuild);
+    }
+
+    @EventListener
+    public void onVectorStoreChanged(VectorStoreChangedEvent event) {
+        if (!isEnabled() || !tableName.equalsIgnoreCase(event.tableName())) {
+            return;
+        }
+        Runnable refresh = event.rebuilt() ? this::rebuild : this::loadNewRows;
+        Thread.ofVirtual().name("vector-index-refresh").start(refresh);
+    }
+
+    /**
+     * Discards the index and reloads every row from the database.
+     */
+    public synchronized void rebuild() {
+        ready = false;
+        index = new HnswIndex(m, efConstruction);
+        maxLoadedId = Long.MIN_VALUE;
+        long start = System.currentTimeMillis();
+        int loaded = loadNewRows();
+        ready = true;
+        System.out.println("In-memory vector index loaded " + loaded + " rows from " + tableName
+                + " in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    /**
+     * Adds rows with an id above the highest id loaded so far.
+     */
+    public synchronized int loadNewRows() {
+        HnswIndex target = index;
+        if (target == null) {
+            return 0;
+        }
+        int[] count = {0};
+        try {
+            jdbcTemplate.query(
+                    "SELECT id, embeddings FROM " + tableName + " WHERE id > ? ORDER BY id",
+                    rs -> {
+                        long id = rs.getLong(1);
+                        float[] vector = rs.getObject(2, float[].class);
+                        if (vector != null) {
+                            target.add(id, QueryEmbeddingService.normalize(vector));
+                            count[0]++;
+                        }
+                        maxLoadedId = Math.max(maxLoadedId, id);
+                    },
+                    maxLoadedId);
+        } catch (Exception e) {
+            System.err.println("In-memory vector index could not load rows from " + tableName + ": " + e.getMessage());
+        }
+        return count[0];
+    }
+
+    /**
+     * Embeds the query with the vector store's EmbeddingClient and searches the index.
+     */
+    public List<Document> similaritySearch(String query, int topK) {
+        if (embeddingClient == null) {
+            return Collections.emptyList();
+        }
+        List<Double> embedding = embeddingClient.embed(query);
+        float[] vector = new float[embedding.size()];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = embedding.get(i).floatValue();
+        }
+        return similaritySearch(vector, topK);
+    }
+
+    /**
+     * Returns the topK most similar documents, most similar first. The
+     * "distance" metadata entry holds the cosine distance, as with the database search.
+     */
+    public List<Document> similaritySearch(float[] queryEmbedding, int topK) {
+        HnswIndex current = index;
+        if (!isReady() || current == null) {
+            return Collections.emptyList();
+        }
+        List<HnswIndex.Hit> hits = current.search(QueryEmbeddingService.normalize(queryEmbedding), topK, efSearch);
+        if (hits.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        StringBuilder placeholders = new StringBuilder();
+        Object[] ids = new Object[hits.size()];
+        for (int i = 0; i < hits.size(); i++) {
+            placeholders.append(i == 0 ? "?" : ", ?");
+            ids[i] = hits.get(i).id();
+        }
+        Map<Long, Document> byId = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT id, text, metadata FROM " + tableName + " WHERE id IN (" + placeholders + ")",
+                rs -> {
+                    byId.put(rs.getLong(1), new Document(rs.getString(2), parseMetadata(rs.getString(3))));
+                },
+                ids);
+
+        List<Document> documents = new ArrayList<>(hits.size());
+        for (HnswIndex.Hit hit : hits) {
+            Document document = byId.get(hit.id());
+            if (document != null) {
+                document.getMetadata().put("distance", 1 - hit.score());
+                documents.add(document);
+            }
+        }
+        return documents;
+    }
+
+    static Map<String, Object> parseMetadata(String json) {
+        if (json == null || json.isBlank()) {
+            return new HashMap<>();
+        }
+        try {
+            return MAPPER.readValue(json, new TypeReference<HashMap<String, Object>>() { });
+        } catch (Exception e) {
+            return new HashMap<>();
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package oracleai.aiholo.agents;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Compiled keyword router for AGENT_ROUTING_MODE=keyword.
+ *
+ * Instead of walking every agent's getKeywords() sets for every question,
+ * the keyword sets of all enabled agents are compiled once into:
+ * - an Aho-Corasick automaton over every distinct keyword, so the question
+ *   is scanned a single time no matter how many agents are registered
+ * - an inverted index from keyword to the keyword sets that contain it
+ *
+ * Matching semantics are the same as the per-agent scan: a keyword set matches
+ * when every keyword in it occurs in the lowercased question, and the first
+ * agent in registration order with a matching set wins. Keyword sets are
+ * numbered in registration order, so "first agent" is simply "lowest set id".
+ *
+ * AgentService calls {@link #compile(List)} once with the agents that survived
+ * the ENABLED_AGENTS filter, in registration order (built-ins, then fallbacks,
+ * then discovered custom agents). Agents with empty getKeywords() are never
+ * returned, which keeps them behaving as fallbacks.
+ *
+ * Routing time is recorded as the routing phase of the chosen agent in
+ * {@link AgentMetrics} (agent "none" when nothing matched).
+ */
+@Component
+public class KeywordRouter {
+
+    @Autowired(required = false)
+    private AgentMetrics metrics;
+
+    private volatile Compiled compiled = Compiled.EMPTY;
+
+    /**
+     * Compiles the keyword sets of the given agents. Safe to call again if the
+     * set of enabled agents changes; routing switches to the new index atomically.
+     */
+    public void compile(List<? extends Agent> agentsInRegistrationOrder) {
+        compiled = Compiled.build(agentsInRegistrationOrder);
+        System.out.println("Keyword router compiled " + compiled.keywordCount() + " keywords in "
+                + compiled.setCount() + " keyword sets for " + agentsInRegistrationOrder.size() + " agents");
+    }
+
+    /**
+     * Returns the first agent (in registration order) with a keyword set fully
+     * contained in the question, or null when no agent matches.
+     */
+    public Agent route(QuestionTokens question) {
+        long start = System.nanoTime();
+        Agent agent = match(question);
+        if (metrics != null) {
+            metrics.recordRouting(agent, System.nanoTime() - start);
+        }
+        return agent;
+    }
+
+    /** {@link #route(QuestionTokens)} without recording metrics, for routers that fall back to this one. */
+    Agent match(QuestionTokens question) {
+        return compiled.route(question.lowerCase());
+    }
+
+    public Agent route(String question) {
+        return route(QuestionTokens.of(question));
+    }
+
+    /**
+     * Immutable compiled form of all keyword sets.
+     */
+    private static final class Compiled {
+
+        static final Compiled EMPTY = build(List.of());
+
+        private final Agent[] agents;
+        private final int[] setOwner;          // set id -> agent index
+        private final int[][] setKeywords;     // set id -> distinct keyword ids
+        private final int[][] postings;        // keyword id -> ascending set ids
+        private final int unconditionalSet;    // lowest set with no non-empty keyword, or MAX_VALUE
+
+        // Aho-Corasick automaton, node 0 is the root
+        private final char[][] labels;         // node -> sorted transition chars
+        private final int[][] next;            // node -> target node per label
+        private final int[] fail;
+        private final int[][] outputs;         // node -> keyword ids ending here (including via fail links)
+
+        private Compiled(Agent[] agents, int[] setOwner, int[][] setKeywords, int[][] postings,
+                         int unconditionalSet, char[][] labels, int[][] next, int[] fail, int[][] outputs) {
+            this.agents = agents;
+            this.setOwner = setOwner;
+            this.setKeywords = setKeywords;
+            this.postings = postings;
+            this.unconditionalSet = unconditionalSet;
+            this.labels = labels;
+            this.next = next;
+            this.fail = fail;
+            this.outputs = outputs;
+        }
+
+        int keywordCount() {
+            return postings.length;
+        }
+
+        int setCount() {
+            return setOwner.length;
+        }
+
+        static Compiled build(List<? extends Agent> agentList) {
+            Agent[] agents = agentList.toArray(new Agent[0]);
+            Map<String, Integer> keywordIds = new HashMap<>();
+            List<List<Integer>> postingLists = new ArrayList<>();
+            List<Integer> owners = new ArrayList<>();
+            List<int[]> sets = new ArrayList<>();
+            int unconditional = Integer.MAX_VALUE;
+
+            for (int a = 0; a < agents.length; a++) {
+                String[][] keywordSets = agents[a].getKeywords();
+                if (keywordSets == null) {
+                    continue;
+                }
+                for (String[] keywordSet : keywordSets) {
+                    if (keywordSet == null || keywordSet.length == 0) {
+                        continue;
+                    }
+                    int setId = owners.size();
+                    Set<Integer> ids = new LinkedHashSet<>();
+                    for (String keyword : keywordSet) {
+                        if (keyword == null || keyword.isEmpty()) {
+                            continue; // an empty keyword is contained in every question
+                        }
+                        String kw = keyword.toLowerCase(Locale.ROOT);
+                        Integer id = keywordIds.get(kw);
+                        if (id == null) {
+                            id = keywordIds.size();
+                            keywordIds.put(kw, id);
+                            postingLists.add(new ArrayList<>());
+                        }
+                        if (ids.add(id)) {
+                            postingLists.get(id).add(setId);
+                        }
+                    }
+                    owners.add(a);
+                    sets.add(ids.stream().mapToInt(Integer::intValue).toArray());
+                    if (ids.isEmpty() && setId < unconditional) {
+                        unconditional = setId;
+                    }
+                }
+            }
+
+            int[][] postings = new int[postingLists.size()][];
+            for (int i = 0; i < postings.length; i++) {
+                postings[i] = postingLists.get(i).stream().mapToInt(Integer::intValue).toArray();
+            }
+
+            // Build the keyword trie
+            List<TreeMap<Character, Integer>> children = new ArrayList<>();
+            List<List<Integer>> nodeOutputs = new ArrayList<>();
+            children.add(new TreeMap<>());
+            nodeOutputs.add(new ArrayList<>());
+            for (Map.Entry<String, Integer> entry : keywordIds.entrySet()) {
+                int node = 0;
+                for (char c : entry.getKey().toCharArray()) {
+                    Integer child = children.get(node).get(c);
+                    if (child == null) {
+                        child = children.size();
+                        children.get(node).put(c, child);
+                        children.add(new TreeMap<>());
+                        nodeOutputs.add(new ArrayList<>());
+                    }
+                    node = child;
+                }
+                nodeOutputs.get(node).add(entry.getValue());
+            }
+
+            int nodeCount = children.size();
+            char[][] labels = new char[nodeCount][];
+            int[][] next = new int[nodeCount][];
+            for (int n = 0; n < nodeCount; n++) {
+                TreeMap<Character, Integer> map = children.get(n);
+                labels[n] = new char[map.size()];
+                next[n] = new int[map.size()];
+                int i = 0;
+                for (Map.Entry<Character, Integer> e : map.entrySet()) {
+                    labels[n][i] = e.getKey();
+                    next[n][i] = e.getValue();
+                    i++;
+                }
+            }
+
+            // Breadth-first fail links; outputs are merged along the fail chain
+            int[] fail = new int[nodeCount];
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            for (int child : next[0]) {
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                for (int i = 0; i < labels[node].length; i++) {
+                    int child = next[node][i];
+                    int f = fail[node];
+                    int target;
+                    while ((target = step(labels, next, f, labels[node][i])) < 0 && f != 0) {
+                        f = fail[f];
+                    }
+                    target = step(labels, next, f, labels[node][i]);
+                    fail[child] = (target < 0 || target == child) ? 0 : target;
+                    nodeOutputs.get(child).addAll(nodeOutputs.get(fail[child]));
+                    queue.add(child);
+                }
+            }
+
+            int[][] outputs = new int[nodeCount][];
+            for (int n = 0; n < nodeCount; n++) {
+                outputs[n] = nodeOutputs.get(n).stream().mapToInt(Integer::intValue).distinct().toArray();
+            }
+
+            return new Compiled(agents,
+                    owners.stream().mapToInt(Integer::intValue).toArray(),
+                    sets.toArray(new int[0][]),
+                    postings, unconditional, labels, next, fail, outputs);
+        }
+
+        private static int step(char[][] labels, int[][] next, int node, char c) {
+            int i = Arrays.binarySearch(labels[node], c);
+            return i < 0 ? -1 : next[node][i];
+        }
+
+        Agent route(String lowerCaseQuestion) {
+            int best = unconditionalSet;
+            if (postings.length > 0) {
+                int[] matched = new int[8];
+                int matchedCount = 0;
+                int state = 0;
+                for (int i = 0; i < lowerCaseQuestion.length(); i++) {
+                    char c = lowerCaseQuestion.charAt(i);
+                    int target;
+                    while ((target = step(labels, next, state, c)) < 0 && state != 0) {
+                        state = fail[state];
+                    }
+                    state = target < 0 ? 0 : target;
+                    for (int kw : outputs[state]) {
+                        if (!contains(matched, matchedCount, kw)) {
+                            if (matchedCount == matched.length) {
+                                matched = Arrays.copyOf(matched, matchedCount * 2);
+                            }
+                            matched[matchedCount++] = kw;
+                        }
+                    }
+                }
+
+                for (int m = 0; m < matchedCount; m++) {
+                    for (int setId : postings[matched[m]]) {
+                        if (setId >= best) {
+                            break; // postings are ascending, nothing further can win
+                        }
+                        if (allMatched(setKeywords[setId], matched, matchedCount)) {
+                            best = setId;
+                            break;
+                        }
+                    }
+                }
+            }
+            return best == Integer.MAX_VALUE ? null : agents[setOwner[best]];
+        }
+
+        private static boolean allMatched(int[] keywords, int[] matched, int matchedCount) {
+            for (int kw : keywords) {
+                if (!contains(matched, matchedCount, kw)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean contains(int[] values, int count, int value) {
+            for (int i = 0; i < count; i++) {
+                if (values[i] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -1,9 +1,18 @@
 package oracleai.aiholo.agents;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
 import dev.langchain4j.store.embedding.oracle.OracleEmbeddingStore;
 
 /**
@@ -13,19 +22,39 @@ import dev.langchain4j.store.embedding.oracle.OracleEmbeddingStore;
  * This agent leverages:
  * - Langchain4j's OracleEmbeddingStore for vector similarity search
  * - Oracle Database 23ai as the vector store backend
- * - Any Langchain4j-compatible embedding model for vectorization
+ * - Any Langchain4j-compatible embedding model for vectorization, through
+ *   QueryEmbeddingService (cached, micro-batched query embeddings)
+ * - An optional Langchain4j ChatLanguageModel to answer from the retrieved
+ *   passages; without one the passages themselves are returned
  *
  * Prerequisites:
  * - langchain4j-oracle dependency (already in pom.xml)
  * - Oracle Database 23ai with vector support
  * - A configured DataSource
+ * - An EmbeddingModel bean (e.g. a local AllMiniLmL6V2EmbeddingModel) matching
+ *   the model used to populate langchain4j_embeddings
  */
 @Component
-public class Langchain4jOracleRAGAgent implements Agent {
+public class Langchain4jOracleRAGAgent implements Agent, AgentHints, WarmableAgent, BatchCapableAgent {
 
     @Autowired(required = false)
     private DataSource dataSource;
 
+    @Autowired(required = false)
+    private QueryEmbeddingService queryEmbeddings;
+
+    @Autowired(required = false)
+    private ChatLanguageModel chatLanguageModel;
+
+    @Autowired(required = false)
+    private RetrievedContextAssembler contextAssembler;
+
+    @Value("${LANGCHAIN4J_RAG_MAX_RESULTS:4}")
+    private int maxResults;
+
+    @Value("${LANGCHAIN4J_RAG_MIN_SCORE:0.6}")
+    private double minScore;
+
     private volatile OracleEmbeddingStore embeddingStore;
 
     @Override
@@ -48,6 +77,11 @@ public class Langchain4jOracleRAGAgent implements Agent {
         };
     }
 
+    @Override
+    public boolean isSpeculationSafe() {
+        return true;
+    }
+
     @Override
     public boolean isConfigured() {
         return dataSource != null;
@@ -58,6 +92,15 @@ public class Langchain4jOracleRAGAgent implements Agent {
         return true;
     }
 
+    /** Builds the embedding store and runs one search, which also loads the embedding model. */
+    @Override
+    public void warmUp() {
+        getOrCreateStore();
+        if (queryEmbeddings != null && queryEmbeddings.isConfigured()) {
+            retrieve("warmup");
+        }
+    }
+
     private OracleEmbeddingStore getOrCreateStore() {
         if (embeddingStore == null) {
             synchronized (this) {
@@ -74,31 +117,109 @@ public class Langchain4jOracleRAGAgent implements Agent {
 
     @Override
     public String processQuestion(String question) {
-        System.out.println("Langchain4j Oracle RAG Agent processing: " + question);
+        AgentLog.info(() -> "Langchain4j Oracle RAG Agent processing: " + question);
 
         if (!isConfigured()) {
             return "I'm sorry, the Langchain4j Oracle RAG feature is not available right now. Please check the database configuration.";
         }
+        if (queryEmbeddings == null || !queryEmbeddings.isConfigured()) {
+            return "I'm sorry, the Langchain4j Oracle RAG feature needs an embedding model. Please configure an EmbeddingModel bean.";
+        }
+        return answer(question, null);
+    }
 
+    /** Retrieves passages and answers; embeds the question unless {@code vector} is given. */
+    private String answer(String question, float[] vector) {
         try {
-            // Verify the store can be created (validates DataSource connectivity)
-            getOrCreateStore();
+            List<EmbeddingMatch<TextSegment>> matches = vector == null ? retrieve(question) : retrieve(vector);
+            if (matches.isEmpty()) {
+                return "I couldn't find anything about that in the Langchain4j document store.";
+            }
 
-            // In a full implementation, you would use an EmbeddingModel to embed the question
-            // and then search via OracleEmbeddingStore. Example:
-            //   Embedding queryEmbedding = embeddingModel.embed(question).content();
-            //   EmbeddingSearchResult<TextSegment> results = embeddingStore.search(
-            //       EmbeddingSearchRequest.builder().queryEmbedding(queryEmbedding).maxResults(4).build()
-            //   );
+            String context = buildContext(matches);
+
+            if (chatLanguageModel == null) {
+                AgentLog.info(() -> "Langchain4j Oracle RAG Agent returned " + matches.size() + " passages (no chat model configured)");
+                return "Here is what I found:\n\n" + context.trim();
+            }
 
-            return "Langchain4j Oracle RAG Agent received: " + question +
-                   "\n\nNote: This agent requires an EmbeddingModel to be configured for full RAG functionality. " +
-                   "The OracleEmbeddingStore is ready and connected to the database.";
+            long llmStart = System.nanoTime();
+            String answer = chatLanguageModel.generate(
+                    "Answer the question using only the context below. If the context does not contain the answer, say so.\n\n" +
+                    "Context:\n" + context + "\n\nQuestion: " + question);
+            AgentMetrics.recordLlm(llmStart);
+
+            AgentLog.info(() -> "Langchain4j Oracle RAG Agent successfully processed query over " + matches.size() + " passages");
+            return answer;
 
         } catch (Exception e) {
-            System.err.println("Error in Langchain4j Oracle RAG Agent: " + e.getMessage());
-            e.printStackTrace();
+            AgentMetrics.markError();
+            AgentLog.error("Error in Langchain4j Oracle RAG Agent", e);
             return "I'm having difficulty with the Langchain4j search right now. Error: " + e.getMessage();
         }
     }
+
+    /**
+     * Embeds all questions in one embedAll call, then searches and answers
+     * each of them.
+     */
+    @Override
+    public List<String> processQuestions(List<String> questions) {
+        if (!isConfigured() || queryEmbeddings == null || !queryEmbeddings.isConfigured()) {
+            return questions.stream().map(this::processQuestion).toList();
+        }
+        List<float[]> vectors;
+        try {
+            vectors = queryEmbeddings.embedAll(questions);
+        } catch (Exception e) {
+            AgentMetrics.markError();
+            AgentLog.error("Error embedding Langchain4j Oracle RAG batch", e);
+            return questions.stream().map(this::processQuestion).toList();
+        }
+        List<String> answers = new ArrayList<>(questions.size());
+        for (int i = 0; i < questions.size(); i++) {
+            answers.add(answer(questions.get(i), vectors.get(i)));
+        }
+        return answers;
+    }
+
+    /**
+     * Joins the matched passages, deduplicated, merged and packed into the
+     * token budget by RetrievedContextAssembler when it is available.
+     */
+    private String buildContext(List<EmbeddingMatch<TextSegment>> matches) {
+        List<RetrievedContextAssembler.Passage> passages = new ArrayList<>(matches.size());
+        for (EmbeddingMatch<TextSegment> match : matches) {
+            TextSegment segment = match.embedded();
+            passages.add(new RetrievedContextAssembler.Passage(segment.text(),
+                    segment.metadata().getString("file_name"), null, segment.metadata().getInteger("index"),
+                    match.score() == null ? 0 : match.score()));
+        }
+        if (contextAssembler != null) {
+            return contextAssembler.assemble(passages);
+        }
+        StringBuilder context = new StringBuilder();
+        for (RetrievedContextAssembler.Passage passage : passages) {
+            context.append(passage.text()).append("\n\n");
+        }
+        return context.toString().trim();
+    }
+
+    private List<EmbeddingMatch<TextSegment>> retrieve(String question) {
+        return retrieve(queryEmbeddings.embed(question));
+    }
+
+    private List<EmbeddingMatch<TextSegment>> retrieve(float[] vector) {
+        Embedding queryEmbedding = Embedding.from(vector);
+        long dbStart = System.nanoTime();
+        try {
+            return getOrCreateStore().search(EmbeddingSearchRequest.builder()
+                    .queryEmbedding(queryEmbedding)
+                    .maxResults(maxResults)
+                    .minScore(minScore)
+                    .build()).matches();
+        } finally {
+            AgentMetrics.recordDb(dbStart);
+        }
+    }
 }
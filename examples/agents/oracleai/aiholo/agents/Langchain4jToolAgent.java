@@ -1,34 +1,53 @@
 package oracleai.aiholo.agents;
 
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.service.AiServices;
+import dev.langchain4j.service.SystemMessage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-import java.util.Map;
-
 /**
  * Langchain4j Tool Agent that uses Langchain4j's tool/function-calling
  * pattern backed by Oracle Database data.
  *
- * This agent demonstrates the Langchain4j @Tool annotation approach where:
- * - Tools are defined as methods that query Oracle Database
- * - The LLM decides which tool to call based on the user's question
- * - Results are returned from database queries
+ * The @Tool methods live in {@link DatabaseTools}:
+ * - listTables / describeTable are answered from the {@link SchemaCatalog}
+ *   snapshot, with no dictionary query per question
+ * - countRows / sampleRows run real queries, for table names validated
+ *   against the catalog
  *
- * In a full implementation, this would use Langchain4j's AiService with @Tool
- * annotated methods. This version provides direct database tool execution.
+ * When a Langchain4j ChatLanguageModel bean is available, the tools are wired
+ * into an AiServices assistant and the LLM decides which tool to call.
+ * Without one, the agent picks the tool itself from the question words
+ * (count / describe / sample / list) and the table named in the question.
  *
  * Prerequisites:
  * - langchain4j-oracle dependency (already in pom.xml)
  * - Oracle Database with application tables
  */
 @Component
-public class Langchain4jToolAgent implements Agent {
+public class Langchain4jToolAgent implements TokenAwareAgent, AgentHints, WarmableAgent {
+
+    interface DatabaseAssistant {
+        @SystemMessage("You answer questions about the application database. "
+                + "Use the tools to look up tables, columns, row counts and sample rows. "
+                + "Answer in two or three short sentences suitable for speech.")
+        String chat(String question);
+    }
 
     @Autowired(required = false)
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private SchemaCatalog schemaCatalog;
+
+    @Autowired(required = false)
+    private ChatLanguageModel chatLanguageModel;
+
+    private volatile DatabaseTools tools;
+    private volatile DatabaseAssistant assistant;
+
     @Override
     public String getName() {
         return "Langchain4j Tool Agent";
@@ -49,6 +68,11 @@ public class Langchain4jToolAgent implements Agent {
         };
     }
 
+    @Override
+    public boolean isSpeculationSafe() {
+        return true;
+    }
+
     @Override
     public boolean isConfigured() {
         return jdbcTemplate != null;
@@ -59,35 +83,100 @@ public class Langchain4jToolAgent implements Agent {
         return true;
     }
 
+    /** Builds the tools (and the AiServices proxy) and opens a connection. */
+    @Override
+    public void warmUp() {
+        tools();
+        if (chatLanguageModel != null) {
+            assistant();
+        }
+        AgentJdbc.queryForObject(jdbcTemplate, "SELECT 1 FROM dual", Integer.class);
+    }
+
     @Override
-    public String processQuestion(String question) {
-        System.out.println("Langchain4j Tool Agent processing: " + question);
+    public String processQuestion(QuestionTokens question) {
+        AgentLog.info(() -> "Langchain4j Tool Agent processing: " + question);
 
         if (!isConfigured()) {
             return "I'm sorry, the Langchain4j Tool feature is not available right now. Please check the database configuration.";
         }
 
         try {
-            // Example tool: list tables in the current schema
-            // In a full Langchain4j AiService implementation, the LLM would choose
-            // which @Tool method to call. Here we demonstrate a simple database tool.
-            String sql = "SELECT table_name FROM user_tables ORDER BY table_name FETCH FIRST 20 ROWS ONLY";
-            List<Map<String, Object>> tables = jdbcTemplate.queryForList(sql);
-
-            StringBuilder sb = new StringBuilder();
-            sb.append("Available database tables:\n");
-            for (Map<String, Object> row : tables) {
-                sb.append("  - ").append(row.get("TABLE_NAME")).append("\n");
+            if (chatLanguageModel != null) {
+                long llmStart = System.nanoTime();
+                String answer = assistant().chat(question.original());
+                AgentMetrics.recordLlm(llmStart);
+                return answer;
             }
-            sb.append("\nAsk me to query any of these tables using natural language.");
-
-            System.out.println("Langchain4j Tool Agent successfully listed database tools");
-            return sb.toString();
+            String answer = dispatch(question);
+            AgentLog.info("Langchain4j Tool Agent successfully dispatched database tool");
+            return answer;
 
         } catch (Exception e) {
-            System.err.println("Error in Langchain4j Tool Agent: " + e.getMessage());
-            e.printStackTrace();
+            AgentMetrics.markError();
+            AgentLog.error("Error in Langchain4j Tool Agent", e);
             return "I'm having difficulty accessing database tools right now. Error: " + e.getMessage();
         }
     }
+
+    /**
+     * Picks a tool from the question words when no LLM is available to choose.
+     */
+    private String dispatch(QuestionTokens question) {
+        DatabaseTools databaseTools = tools();
+        SchemaCatalog.Table table = findTable(question, schemaCatalog.snapshot());
+        if (table == null) {
+            return databaseTools.listTables()
+                    + "\nAsk me to count, describe or sample any of these tables.";
+        }
+        if (question.contains("count") || question.contains("many")) {
+            return databaseTools.countRows(table.name());
+        }
+        if (question.contains("sample") || question.contains("show") || question.contains("example")) {
+            return databaseTools.sampleRows(table.name());
+        }
+        return databaseTools.describeTable(table.name());
+    }
+
+    /**
+     * Finds a catalog table named in the question. Names are matched on single
+     * tokens and on adjacent token pairs joined with an underscore, so both
+     * "orders" and "order items" (ORDER_ITEMS) are recognised.
+     */
+    static SchemaCatalog.Table findTable(QuestionTokens question, SchemaCatalog.Snapshot snapshot) {
+        for (int i = 0; i < question.size(); i++) {
+            if (i + 1 < question.size()) {
+                SchemaCatalog.Table pair = snapshot.table(question.token(i) + "_" + question.token(i + 1));
+                if (pair != null) {
+                    return pair;
+                }
+            }
+            SchemaCatalog.Table single = snapshot.table(question.token(i));
+            if (single != null) {
+                return single;
+            }
+        }
+        return null;
+    }
+
+    private DatabaseTools tools() {
+        DatabaseTools t = tools;
+        if (t == null) {
+            t = new DatabaseTools(schemaCatalog, jdbcTemplate);
+            tools = t;
+        }
+        return t;
+    }
+
+    private DatabaseAssistant assistant() {
+        DatabaseAssistant a = assistant;
+        if (a == null) {
+            a = AiServices.builder(DatabaseAssistant.class)
+                    .chatLanguageModel(chatLanguageModel)
+                    .tools(tools())
+                    .build();
+            assistant = a;
+        }
+        return a;
+    }
 }
@@ -0,0 +1,75 @@
+package oracleai.aiholo.agents;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Prompt for AGENT_ROUTING_MODE=llm.
+ *
+ * The agent catalogue part of the prompt (one numbered line per agent with its
+ * getAgentDescription()) only changes when the set of enabled agents changes,
+ * so it is rendered once by {@link #compile(List)}. Each question then costs a
+ * single StringBuilder append of the question onto the precomputed header.
+ *
+ * {@link #parseChoice(String)} maps the LLM reply (a 1-based agent number, or
+ * "none") back to the agent; null means "fall back to keyword routing".
+ */
+public final class LlmRoutingPrompt {
+
+    private static final String INSTRUCTIONS =
+            "You route visitor questions to the agent best able to answer them.\n"
+            + "Reply with only the number of the best agent, or \"none\" if no agent fits.\n\nAgents:\n";
+
+    private final Agent[] agents;
+    private final String header;
+
+    private LlmRoutingPrompt(Agent[] agents, String header) {
+        this.agents = agents;
+        this.header = header;
+    }
+
+    public static LlmRoutingPrompt compile(List<? extends Agent> agentsInRegistrationOrder) {
+        Agent[] agents = agentsInRegistrationOrder.toArray(new Agent[0]);
+        StringBuilder sb = new StringBuilder(INSTRUCTIONS.length() + agents.length * 96);
+        sb.append(INSTRUCTIONS);
+        for (int i = 0; i < agents.length; i++) {
+            sb.append(i + 1).append(". ").append(agents[i].getName()).append(": ")
+              .append(agents[i].getAgentDescription()).append('\n');
+        }
+        sb.append("\nQuestion: ");
+        return new LlmRoutingPrompt(agents, sb.toString());
+    }
+
+    public String forQuestion(String question) {
+        return new StringBuilder(header.length() + question.length() + 1)
+                .append(header).append(question).append('\n')
+                .toString();
+    }
+
+    /**
+     * Returns the agent whose number appears first in the reply, or null when
+     * the reply is "none", has no number, or the number is out of range.
+     */
+    public Agent parseChoice(String reply) {
+        if (reply == null || reply.toLowerCase(Locale.ROOT).contains("none")) {
+            return null;
+        }
+        int value = -1;
+        for (int i = 0; i < reply.length(); i++) {
+            char c = reply.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = (value < 0 ? 0 : value * 10) + (c - '0');
+                if (value > agents.length) {
+                    return null;
+                }
+            } else if (value >= 0) {
+                break;
+            }
+        }
+        return value >= 1 ? agents[value - 1] : null;
+    }
+
+    public int agentCount() {
+        return agents.length;
+    }
+}
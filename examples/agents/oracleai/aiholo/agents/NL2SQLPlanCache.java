@@ -0,0 +1,334 @@
+package oracleai.aiholo.agents;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cache of SQL generated by DBMS_CLOUD_AI for DBSQLAgent.
+ *
+ * Questions are turned into a {@link Template}: numeric and quoted literals are
+ * lifted out, so "ships built after 1990" and "ships built after 2005" share one
+ * cache key. When DBMS_CLOUD_AI generates SQL (action =&gt; 'showsql') for a
+ * question, each lifted literal that appears exactly once in the SQL is
+ * replaced by a bind variable and the resulting {@link Plan} is cached.
+ * If any literal cannot be located unambiguously, the plan is cached under the
+ * exact question text instead, without binds.
+ *
+ * A plan is only cached after it passes {@link #isCacheableSql(String)} and the
+ * parameterized statement has executed successfully, so SQL that does not parse
+ * or fails at runtime is never reused.
+ *
+ * Entries are LRU-bounded and expire after a TTL. {@link #invalidateAll()}
+ * clears everything, and happens automatically on {@link SchemaChangedEvent}
+ * when SchemaCatalog detects DDL in the application schema. Tables reached
+ * through the AI profile in other schemas are not tracked; call
+ * invalidateAll() after changing them.
+ *
+ * Configuration:
+ * - DBSQL_PLAN_CACHE_ENABLED (default false)
+ * - DBSQL_PLAN_CACHE_MAX_ENTRIES (default 256)
+ * - DBSQL_PLAN_CACHE_TTL_SECONDS (default 86400)
+ */
+@Component
+public class NL2SQLPlanCache {
+
+    private static final Pattern QUESTION_LITERAL = Pattern.compile("'([^']*)'|\"([^\"]*)\"|(?<![\\w.])(\\d+(?:\\.\\d+)?)(?![\\w.])");
+    private static final Pattern FIRST_KEYWORD = Pattern.compile("^\\s*(\\w+)");
+
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final LinkedHashMap<String, Plan> plans;
+
+    public NL2SQLPlanCache(@Value("${DBSQL_PLAN_CACHE_ENABLED:false}") boolean enabled,
+                           @Value("${DBSQL_PLAN_CACHE_MAX_ENTRIES:256}") int maxEntries,
+                           @Value("${DBSQL_PLAN_CACHE_TTL_SECONDS:86400}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.plans = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Plan> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * A question with its literals lifted out.
+     *
+     * @param key      normalized question with every literal replaced by a placeholder
+     * @param exactKey normalized question with literals in place
+     * @param literals the lifted values (BigDecimal for numbers, String for quoted text)
+     */
+    public record Template(String key, String exactKey, List<Object> literals) {
+    }
+
+    /**
+     * Cached SQL. bindOrder[i] is the index into the template literals bound to the i-th '?'.
+     */
+    public record Plan(String sql, int[] bindOrder, long createdAt) {
+
+        public Object[] bindArgs(Template template) {
+            Object[] args = new Object[bindOrder.length];
+            for (int i = 0; i < bindOrder.length; i++) {
+                args[i] = template.literals().get(bindOrder[i]);
+            }
+            return args;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public static Template template(String question) {
+        List<Object> literals = new ArrayList<>();
+        Matcher m = QUESTION_LITERAL.matcher(question);
+        StringBuilder lifted = new StringBuilder();
+        while (m.find()) {
+            if (m.group(3) != null) {
+                literals.add(new BigDecimal(m.group(3)));
+            } else {
+                literals.add(m.group(1) != null ? m.group(1) : m.group(2));
+            }
+            // Every number is lifted, so the token "0" can only ever mean "a literal was here"
+            m.appendReplacement(lifted, " 0 ");
+        }
+        m.appendTail(lifted);
+        return new Template(QuestionTokens.of(lifted.toString()).normalized(),
+                QuestionTokens.of(question).normalized(), literals);
+    }
+
+    /**
+     * Returns the cached plan for the template, preferring the literal-lifted
+     * form, or null on a miss.
+     */
+    public Plan get(Template template) {
+        if (!enabled) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        synchronized (plans) {
+            for (String key : new String[] {liftedKey(template), exactKey(template)}) {
+                Plan plan = plans.get(key);
+                if (plan != null) {
+                    if (now - plan.createdAt() <= ttlMillis) {
+                        return plan;
+                    }
+                    plans.remove(key);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builds the plan for generated SQL: literals from the question are turned
+     * into bind variables where they can be located unambiguously. Returns null
+     * if the SQL is not cacheable.
+     */
+    public Plan plan(Template template, String generatedSql) {
+        if (!isCacheableSql(generatedSql)) {
+            return null;
+        }
+        String sql = stripTrailingSemicolon(generatedSql);
+        List<SqlLiteral> sqlLiterals = scanLiterals(sql);
+        int[] questionLiteralFor = new int[sqlLiterals.size()];
+        Arrays.fill(questionLiteralFor, -1);
+
+        boolean allLifted = true;
+        for (int q = 0; q < template.literals().size() && allLifted; q++) {
+            Object literal = template.literals().get(q);
+            int found = -1;
+            for (int s = 0; s < sqlLiterals.size(); s++) {
+                if (questionLiteralFor[s] < 0 && sqlLiterals.get(s).matches(literal)) {
+                    if (found >= 0) {
+                        found = -2; // ambiguous
+                        break;
+                    }
+                    found = s;
+                }
+            }
+            if (found < 0) {
+                allLifted = false;
+            } else {
+                questionLiteralFor[found] = q;
+            }
+        }
+        if (!allLifted || template.literals().isEmpty()) {
+            return new Plan(sql, new int[0], System.currentTimeMillis());
+        }
+
+        StringBuilder parameterized = new StringBuilder();
+        List<Integer> order = new ArrayList<>();
+        int last = 0;
+        for (int s = 0; s < sqlLiterals.size(); s++) {
+            if (questionLiteralFor[s] >= 0) {
+                SqlLiteral literal = sqlLiterals.get(s);
+                parameterized.append(sql, last, literal.start()).append('?');
+                last = literal.end();
+                order.add(questionLiteralFor[s]);
+            }
+        }
+        parameterized.append(sql.substring(last));
+        return new Plan(parameterized.toString(), order.stream().mapToInt(Integer::intValue).toArray(),
+                System.currentTimeMillis());
+    }
+
+    /**
+     * Caches a plan that has executed successfully.
+     */
+    public void put(Template template, Plan plan) {
+        if (!enabled || plan == null) {
+            return;
+        }
+        String key = plan.bindOrder().length > 0 || template.literals().isEmpty()
+                ? liftedKey(template) : exactKey(template);
+        synchronized (plans) {
+            plans.put(key, plan);
+        }
+    }
+
+    public void evict(Template template) {
+        synchronized (plans) {
+            plans.remove(liftedKey(template));
+            plans.remove(exactKey(template));
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (plans) {
+            plans.clear();
+        }
+    }
+
+    @EventListener
+    public void onSchemaChanged(SchemaChangedEvent event) {
+        invalidateAll();
+        System.out.println("NL2SQL plan cache cleared after schema change");
+    }
+
+    public int size() {
+        synchronized (plans) {
+            return plans.size();
+        }
+    }
+
+    /**
+     * Only a single read-only query may be cached and replayed.
+     */
+    static boolean isCacheableSql(String sql) {
+        if (sql == null) {
+            return false;
+        }
+        String body = stripTrailingSemicolon(sql);
+        Matcher m = FIRST_KEYWORD.matcher(body);
+        if (!m.find()) {
+            return false;
+        }
+        String keyword = m.group(1).toUpperCase(Locale.ROOT);
+        if (!keyword.equals("SELECT") && !keyword.equals("WITH")) {
+            return false;
+        }
+        // A ';' outside string literals means more than one statement
+        boolean inString = false;
+        for (int i = 0; i < body.length(); i++) {
+            char c = body.charAt(i);
+            if (c == '\'') {
+                inString = !inString;
+            } else if (c == ';' && !inString) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String stripTrailingSemicolon(String sql) {
+        String trimmed = sql.trim();
+        while (trimmed.endsWith(";")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1).trim();
+        }
+        return trimmed;
+    }
+
+    private record SqlLiteral(int start, int end, String text, boolean quoted) {
+
+        boolean matches(Object value) {
+            if (value instanceof BigDecimal number) {
+                if (quoted) {
+                    return false;
+                }
+                try {
+                    return new BigDecimal(text).compareTo(number) == 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+            return quoted && text.equals(value);
+        }
+    }
+
+    /**
+     * Finds quoted string literals and standalone numbers outside quoted identifiers.
+     */
+    private static List<SqlLiteral> scanLiterals(String sql) {
+        List<SqlLiteral> literals = new ArrayList<>();
+        int i = 0;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                int start = i++;
+                StringBuilder value = new StringBuilder();
+                while (i < sql.length()) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < sql.length() && sql.charAt(i + 1) == '\'') {
+                            value.append('\'');
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    value.append(sql.charAt(i++));
+                }
+                i++;
+                literals.add(new SqlLiteral(start, Math.min(i, sql.length()), value.toString(), true));
+            } else if (c == '"') {
+                int close = sql.indexOf('"', i + 1);
+                i = close < 0 ? sql.length() : close + 1;
+            } else if (Character.isDigit(c) && (i == 0 || !isIdentifierChar(sql.charAt(i - 1)))) {
+                int start = i;
+                while (i < sql.length() && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                if (i == sql.length() || !isIdentifierChar(sql.charAt(i))) {
+                    literals.add(new SqlLiteral(start, i, sql.substring(start, i), false));
+                }
+            } else {
+                i++;
+            }
+        }
+        return literals;
+    }
+
+    private static boolean isIdentifierChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '#';
+    }
+
+    private static String liftedKey(Template template) {
+        return "T:" + template.key();
+    }
+
+    private static String exactKey(Template template) {
+        return "Q:" + template.exactKey();
+    }
+}
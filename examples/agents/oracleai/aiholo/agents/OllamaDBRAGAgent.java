@@ -1,6 +1,7 @@
 package oracleai.aiholo.agents;
 
 import oracleai.vectorrag.service.VectorRAGServiceEdge;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
@@ -14,12 +15,16 @@ import org.springframework.stereotype.Component;
  * - All processing is coordinated by a single SQL function call
  *
  * This provides a lightweight, efficient alternative to the full Spring AI stack.
+ * Repeated or reworded questions are answered from SemanticAnswerCache.
  */
 @Component
-public class OllamaDBRAGAgent implements Agent {
+public class OllamaDBRAGAgent implements Agent, AgentHints, WarmableAgent {
 
     private final VectorRAGServiceEdge vectorRAGServiceEdge;
 
+    @Autowired(required = false)
+    private SemanticAnswerCache answerCache;
+
     public OllamaDBRAGAgent(VectorRAGServiceEdge vectorRAGServiceEdge) {
         this.vectorRAGServiceEdge = vectorRAGServiceEdge;
     }
@@ -48,27 +53,57 @@ public class OllamaDBRAGAgent implements Agent {
         };
     }
 
+    @Override
+    public boolean isSpeculationSafe() {
+        return true;
+    }
+
     @Override
     public boolean isConfigured() {
         return vectorRAGServiceEdge != null && vectorRAGServiceEdge.isConfigured();
     }
 
+    /**
+     * Runs one RAG question, bypassing the answer cache, so the in-database
+     * ONNX embedding model and the Ollama model are loaded before the first visitor.
+     */
+    @Override
+    public void warmUp() {
+        vectorRAGServiceEdge.rag("What topics do the documents cover?");
+    }
+
     @Override
     public String processQuestion(String question) {
-        System.out.println("Ollama DB RAG Agent processing: " + question);
+        AgentLog.info(() -> "Ollama DB RAG Agent processing: " + question);
 
         if (!isConfigured()) {
             return "I'm sorry, the Ollama DB RAG feature is not available right now. Please check the database configuration.";
         }
 
         try {
+            SemanticAnswerCache.Key cacheKey = null;
+            if (answerCache != null && answerCache.isEnabled()) {
+                cacheKey = answerCache.key(getValueName(), question);
+                String cached = answerCache.get(cacheKey);
+                if (cached != null) {
+                    AgentLog.info(() -> getName() + " answered from cache");
+                    return cached;
+                }
+            }
+
+            // Retrieval and generation both run inside the database, so it is db time
+            long dbStart = System.nanoTime();
             String answer = vectorRAGServiceEdge.rag(question);
-            System.out.println("Ollama DB RAG Agent successfully processed query via generate_text_response_all_docs");
+            AgentMetrics.recordDb(dbStart);
+            if (cacheKey != null) {
+                answerCache.put(cacheKey, answer);
+            }
+            AgentLog.info("Ollama DB RAG Agent successfully processed query via generate_text_response_all_docs");
             return answer;
 
         } catch (Exception e) {
-            System.err.println("Error in Ollama DB RAG Agent: " + e.getMessage());
-            e.printStackTrace();
+            AgentMetrics.markError();
+            AgentLog.error("Error in Ollama DB RAG Agent", e);
             return "I'm having difficulty with the Ollama DB RAG query right now. Let me help you with something else instead.";
         }
     }
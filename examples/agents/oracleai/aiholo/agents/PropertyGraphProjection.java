@@ -0,0 +1,377 @@
+package oracleai.aiholo.agents;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional in-JVM projection of the SQL/PGQ property graph used by DBPropertyGraphAgent.
+ *
+ * The graph is loaded through GRAPH_TABLE into a compact, immutable snapshot:
+ * - vertex names and a lowercase name dictionary
+ * - relationship labels interned into an int dictionary
+ * - CSR adjacency (offsets + targets over primitive int arrays) for outgoing
+ *   edges, plus a reverse CSR pointing back at the same edges for incoming ones
+ * - a token index (name word -&gt; vertices) and a sorted name array for prefix lookups
+ *
+ * With the projection, relationship questions are answered without a database
+ * round trip and can traverse more than one hop (PROPERTY_GRAPH_MAX_DEPTH).
+ *
+ * A background task checks the underlying vertex and edge tables
+ * (PROPERTY_GRAPH_TABLES) every PROPERTY_GRAPH_REFRESH_SECONDS using row count
+ * and MAX(ORA_ROWSCN); only when they changed is a new snapshot built and
+ * swapped in atomically. Requests never wait for a refresh.
+ *
+ * Vertices are identified by their name property, matching the columns the
+ * agent's GRAPH_TABLE query already returns.
+ */
+@Component
+public class PropertyGraphProjection {
+
+    /** One traversed edge; depth 1 is adjacent to a matched vertex. */
+    public record Edge(String source, String relationship, String target, int depth) {
+    }
+
+    @Autowired(required = false)
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${PROPERTY_GRAPH_PROJECTION_ENABLED:false}")
+    private boolean enabled;
+
+    @Value("${PROPERTY_GRAPH_NAME:my_graph}")
+    private String graphName;
+
+    @Value("${PROPERTY_GRAPH_TABLES:ships,equipment,ship_equipment}")
+    private String tables;
+
+    @Value("${PROPERTY_GRAPH_REFRESH_SECONDS:60}")
+    private long refreshSeconds;
+
+    @Value("${PROPERTY_GRAPH_MAX_DEPTH:2}")
+    private int maxDepth;
+
+    private volatile Snapshot snapshot;
+    private volatile String fingerprint;
+    private ScheduledExecutorService refresher;
+
+    public boolean isEnabled() {
+        return enabled && jdbcTemplate != null;
+    }
+
+    public boolean isReady() {
+        return isEnabled() && snapshot != null;
+    }
+
+    public int maxDepth() {
+        return maxDepth;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "property-graph-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+        refresher.scheduleWithFixedDelay(this::refreshIfChanged, 0, refreshSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    /**
+     * Rebuilds the snapshot if the vertex or edge tables changed since the last load.
+     */
+    public void refreshIfChanged() {
+        try {
+            String current = tableFingerprint();
+            if (snapshot != null && current.equals(fingerprint)) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            Snapshot loaded = load();
+            snapshot = loaded;
+            fingerprint = current;
+            System.out.println("Property graph projection loaded " + loaded.names.length + " vertices and "
+                    + loaded.outTargets.length + " edges in " + (System.currentTimeMillis() - start) + " ms");
+        } catch (Exception e) {
+            System.err.println("Property graph projection refresh failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Finds the vertices a search term refers to: exact name, then name prefix,
+     * then vertices whose names contain every word of the term, then any word.
+     */
+    public int[] findVertices(String searchTerm, int limit) {
+        Snapshot s = snapshot;
+        if (s == null || searchTerm.isBlank()) {
+            return new int[0];
+        }
+        String term = searchTerm.toLowerCase(Locale.ROOT).trim();
+        Integer exact = s.idByName.get(term);
+        if (exact != null) {
+            return new int[] {exact};
+        }
+
+        Set<Integer> found = new LinkedHashSet<>();
+        int from = Arrays.binarySearch(s.sortedNames, term);
+        for (int i = from < 0 ? -from - 1 : from; i < s.sortedNames.length && found.size() < limit; i++) {
+            if (!s.sortedNames[i].startsWith(term)) {
+                break;
+            }
+            found.add(s.sortedIds[i]);
+        }
+        if (!found.isEmpty()) {
+            return toArray(found);
+        }
+
+        List<String> words = QuestionTokens.of(term).tokens();
+        BitSet all = null;
+        BitSet any = new BitSet(s.names.length);
+        for (String word : words) {
+            BitSet vertices = new BitSet(s.names.length);
+            for (int v : s.verticesByToken.getOrDefault(word, new int[0])) {
+                vertices.set(v);
+            }
+            any.or(vertices);
+            if (all == null) {
+                all = vertices;
+            } else {
+                all.and(vertices);
+            }
+        }
+        BitSet best = all != null && !all.isEmpty() ? all : any;
+        for (int v = best.nextSetBit(0); v >= 0 && found.size() < limit; v = best.nextSetBit(v + 1)) {
+            found.add(v);
+        }
+        return toArray(found);
+    }
+
+    /**
+     * Breadth-first traversal in both directions from the seed vertices, up to
+     * the given depth, returning at most maxEdges edges in discovery order.
+     */
+    public List<Edge> neighbourhood(int[] seeds, int depth, int maxEdges) {
+        Snapshot s = snapshot;
+        List<Edge> edges = new ArrayList<>();
+        if (s == null || seeds.length == 0) {
+            return edges;
+        }
+        BitSet visited = new BitSet(s.names.length);
+        BitSet reported = new BitSet(s.outTargets.length);
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+        for (int seed : seeds) {
+            visited.set(seed);
+            queue.add(new int[] {seed, 0});
+        }
+        while (!queue.isEmpty() && edges.size() < maxEdges) {
+            int[] current = queue.poll();
+            int v = current[0];
+            int d = current[1] + 1;
+            if (d > depth) {
+                continue;
+            }
+            for (int i = s.outOffsets[v]; i < s.outOffsets[v + 1] && edges.size() < maxEdges; i++) {
+                int target = s.outTargets[i];
+                if (!reported.get(i)) {
+                    reported.set(i);
+                    edges.add(new Edge(s.names[v], s.labels[s.outLabels[i]], s.names[target], d));
+                }
+                if (!visited.get(target)) {
+                    visited.set(target);
+                    queue.add(new int[] {target, d});
+                }
+            }
+            for (int i = s.inOffsets[v]; i < s.inOffsets[v + 1] && edges.size() < maxEdges; i++) {
+                int edge = s.inEdges[i];
+                int source = s.inSources[i];
+                if (!reported.get(edge)) {
+                    reported.set(edge);
+                    edges.add(new Edge(s.names[source], s.labels[s.outLabels[edge]], s.names[v], d));
+                }
+                if (!visited.get(source)) {
+                    visited.set(source);
+                    queue.add(new int[] {source, d});
+                }
+            }
+        }
+        return edges;
+    }
+
+    private String tableFingerprint() {
+        StringBuilder sb = new StringBuilder();
+        for (String table : tables.split(",")) {
+            String name = table.trim();
+            if (!name.matches("[A-Za-z][A-Za-z0-9_$#.]*")) {
+                continue;
+            }
+            sb.append(jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) || ':' || MAX(ORA_ROWSCN) FROM " + name, String.class)).append(';');
+        }
+        return sb.toString();
+    }
+
+    private Snapshot load() {
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        Map<String, Integer> labelIds = new HashMap<>();
+        List<String> labels = new ArrayList<>();
+        List<int[]> edges = new ArrayList<>();
+
+        jdbcTemplate.query(
+                "SELECT name FROM GRAPH_TABLE (" + graphName + " MATCH (v) COLUMNS (v.name AS name))",
+                rs -> {
+                    vertexId(rs.getString(1), ids, names);
+                });
+        jdbcTemplate.query("""
+                SELECT source, rel, target
+                FROM GRAPH_TABLE ( %s
+                    MATCH (v1) -[e]-> (v2)
+                    COLUMNS (v1.name AS source, e.relationship AS rel, v2.name AS target)
+                )
+                """.formatted(graphName),
+                rs -> {
+                    String rel = String.valueOf(rs.getString(2));
+                    Integer label = labelIds.get(rel);
+                    if (label == null) {
+                        label = labels.size();
+                        labelIds.put(rel, label);
+                        labels.add(rel);
+                    }
+                    edges.add(new int[] {vertexId(rs.getString(1), ids, names), label, vertexId(rs.getString(3), ids, names)});
+                });
+        return Snapshot.build(names, labels, edges);
+    }
+
+    private static int vertexId(String name, Map<String, Integer> ids, List<String> names) {
+        String value = String.valueOf(name);
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = names.size();
+            ids.put(value, id);
+            names.add(value);
+        }
+        return id;
+    }
+
+    private static int[] toArray(Set<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static final class Snapshot {
+        final String[] names;
+        final Map<String, Integer> idByName;
+        final String[] sortedNames;
+        final int[] sortedIds;
+        final Map<String, int[]> verticesByToken;
+        final String[] labels;
+        final int[] outOffsets;
+        final int[] outTargets;
+        final int[] outLabels;
+        final int[] inOffsets;
+        final int[] inSources;
+        final int[] inEdges;
+
+        private Snapshot(String[] names, Map<String, Integer> idByName, String[] sortedNames, int[] sortedIds,
+                         Map<String, int[]> verticesByToken, String[] labels,
+                         int[] outOffsets, int[] outTargets, int[] outLabels,
+                         int[] inOffsets, int[] inSources, int[] inEdges) {
+            this.names = names;
+            this.idByName = idByName;
+            this.sortedNames = sortedNames;
+            this.sortedIds = sortedIds;
+            this.verticesByToken = verticesByToken;
+            this.labels = labels;
+            this.outOffsets = outOffsets;
+            this.outTargets = outTargets;
+            this.outLabels = outLabels;
+            this.inOffsets = inOffsets;
+            this.inSources = inSources;
+            this.inEdges = inEdges;
+        }
+
+        static Snapshot build(List<String> nameList, List<String> labelList, List<int[]> edges) {
+            int n = nameList.size();
+            String[] names = nameList.toArray(new String[0]);
+
+            Map<String, Integer> idByName = new HashMap<>();
+            Map<String, List<Integer>> tokenLists = new HashMap<>();
+            Integer[] order = new Integer[n];
+            String[] lower = new String[n];
+            for (int v = 0; v < n; v++) {
+                lower[v] = names[v].toLowerCase(Locale.ROOT);
+                idByName.putIfAbsent(lower[v], v);
+                order[v] = v;
+                for (String token : QuestionTokens.of(lower[v]).tokens()) {
+                    List<Integer> list = tokenLists.computeIfAbsent(token, k -> new ArrayList<>());
+                    if (list.isEmpty() || list.get(list.size() - 1) != v) {
+                        list.add(v);
+                    }
+                }
+            }
+            Arrays.sort(order, (a, b) -> lower[a].compareTo(lower[b]));
+            String[] sortedNames = new String[n];
+            int[] sortedIds = new int[n];
+            for (int i = 0; i < n; i++) {
+                sortedNames[i] = lower[order[i]];
+                sortedIds[i] = order[i];
+            }
+            Map<String, int[]> verticesByToken = new HashMap<>();
+            tokenLists.forEach((token, list) -> verticesByToken.put(token, list.stream().mapToInt(Integer::intValue).toArray()));
+
+            int[] outOffsets = new int[n + 1];
+            int[] inOffsets = new int[n + 1];
+            for (int[] e : edges) {
+                outOffsets[e[0] + 1]++;
+                inOffsets[e[2] + 1]++;
+            }
+            for (int v = 0; v < n; v++) {
+                outOffsets[v + 1] += outOffsets[v];
+                inOffsets[v + 1] += inOffsets[v];
+            }
+            int m = edges.size();
+            int[] outTargets = new int[m];
+            int[] outLabels = new int[m];
+            int[] inSources = new int[m];
+            int[] inEdges = new int[m];
+            int[] outFill = Arrays.copyOf(outOffsets, n);
+            int[] inFill = Arrays.copyOf(inOffsets, n);
+            for (int[] e : edges) {
+                int o = outFill[e[0]]++;
+                outTargets[o] = e[2];
+                outLabels[o] = e[1];
+                int i = inFill[e[2]]++;
+                inSources[i] = e[0];
+                inEdges[i] = o;
+            }
+            return new Snapshot(names, idByName, sortedNames, sortedIds, verticesByToken,
+                    labelList.toArray(new String[0]), outOffsets, outTargets, outLabels, inOffsets, inSources, inEdges);
+        }
+    }
+}
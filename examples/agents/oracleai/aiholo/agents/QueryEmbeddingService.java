@@ -0,0 +1,221 @@
+package oracleai.aiholo.agents;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query embedding front end for the Langchain4j EmbeddingModel.
+ *
+ * Adds two things in front of the (pluggable, typically local) model:
+ * - a bounded LRU cache of query vectors, stored as primitive float[] so a
+ *   cached 384-dimension vector costs ~1.5 KB instead of a boxed List
+ * - micro-batching: questions that arrive within EMBEDDING_BATCH_WINDOW_MS of
+ *   each other are sent to the model as a single embedAll() call, and identical
+ *   questions already in flight share one result
+ *
+ * Returned vectors are L2-normalized, so cosine similarity is a dot product.
+ * The EmbeddingModel bean is optional; {@link #isConfigured()} reports whether one is present.
+ *
+ * Configuration:
+ * - EMBEDDING_CACHE_MAX_ENTRIES (default 2000)
+ * - EMBEDDING_BATCH_MAX_SIZE (default 32)
+ * - EMBEDDING_BATCH_WINDOW_MS (default 3)
+ */
+@Component
+public class QueryEmbeddingService {
+
+    @Autowired(required = false)
+    private EmbeddingModel embeddingModel;
+
+    private final int maxBatchSize;
+    private final long batchWindowNanos;
+    private final Map<String, float[]> cache;
+    private final Map<String, CompletableFuture<float[]>> inFlight = new ConcurrentHashMap<>();
+    private final BlockingQueue<String> pending = new LinkedBlockingQueue<>();
+    private volatile Thread batcher;
+    private volatile boolean stopped;
+
+    public QueryEmbeddingService(@Value("${EMBEDDING_CACHE_MAX_ENTRIES:2000}") int maxCacheEntries,
+                                 @Value("${EMBEDDING_BATCH_MAX_SIZE:32}") int maxBatchSize,
+                                 @Value("${EMBEDDING_BATCH_WINDOW_MS:3}") long batchWindowMillis) {
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.batchWindowNanos = TimeUnit.MILLISECONDS.toNanos(batchWindowMillis);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, float[]> eldest) {
+                return size() > maxCacheEntries;
+            }
+        };
+    }
+
+    @PostConstruct
+    public void start() {
+        if (embeddingModel != null) {
+            batcher = Thread.ofVirtual().name("embedding-batcher").start(this::runBatches);
+        }
+    }
+
+    /**
+     * Stops the batcher and fails every embedding that is still queued or in
+     * flight, so callers blocked in {@link #embed(String)} return during shutdown.
+     */
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+        if (batcher != null) {
+            batcher.interrupt();
+        }
+        pending.clear();
+        IllegalStateException shutdown = new IllegalStateException("Query embedding service is shutting down");
+        for (String text : List.copyOf(inFlight.keySet())) {
+            CompletableFuture<float[]> future = inFlight.remove(text);
+            if (future != null) {
+                future.completeExceptionally(shutdown);
+            }
+        }
+    }
+
+    public boolean isConfigured() {
+        return embeddingModel != null;
+    }
+
+    /**
+     * Returns the normalized embedding of the text, from cache when possible.
+     * Shared with other callers: do not modify the returned array.
+     */
+    public float[] embed(String text) {
+        return join(embedAsync(text));
+    }
+
+    /**
+     * Embeds several texts; they are queued together so they land in the same batch.
+     */
+    public List<float[]> embedAll(List<String> texts) {
+        List<CompletableFuture<float[]>> futures = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            futures.add(embedAsync(text));
+        }
+        List<float[]> vectors = new ArrayList<>(texts.size());
+        for (CompletableFuture<float[]> future : futures) {
+            vectors.add(join(future));
+        }
+        return vectors;
+    }
+
+    public CompletableFuture<float[]> embedAsync(String text) {
+        if (embeddingModel == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("No EmbeddingModel bean is configured"));
+        }
+        if (stopped) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Query embedding service is shutting down"));
+        }
+        float[] cached;
+        synchronized (cache) {
+            cached = cache.get(text);
+        }
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<float[]> created = new CompletableFuture<>();
+        CompletableFuture<float[]> existing = inFlight.putIfAbsent(text, created);
+        if (existing != null) {
+            return existing;
+        }
+        pending.add(text);
+        if (stopped && inFlight.remove(text, created)) {
+            // stop() ran between the check above and the enqueue
+            created.completeExceptionally(new IllegalStateException("Query embedding service is shutting down"));
+        }
+        return created;
+    }
+
+    private void runBatches() {
+        List<String> batch = new ArrayList<>(maxBatchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(pending.take());
+                long deadline = System.nanoTime() + batchWindowNanos;
+                while (batch.size() < maxBatchSize) {
+                    String next = pending.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                embedBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void embedBatch(List<String> batch) {
+        try {
+            List<TextSegment> segments = new ArrayList<>(batch.size());
+            for (String text : batch) {
+                segments.add(TextSegment.from(text));
+            }
+            List<Embedding> embeddings = embeddingModel.embedAll(segments).content();
+            for (int i = 0; i < batch.size(); i++) {
+                float[] vector = normalize(embeddings.get(i).vector());
+                synchronized (cache) {
+                    cache.put(batch.get(i), vector);
+                }
+                CompletableFuture<float[]> future = inFlight.remove(batch.get(i));
+                if (future != null) {
+                    future.complete(vector);
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Embedding batch of " + batch.size() + " failed: " + e.getMessage());
+            for (String text : batch) {
+                CompletableFuture<float[]> future = inFlight.remove(text);
+                if (future != null) {
+                    future.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    static float[] normalize(float[] vector) {
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        float[] out = vector.clone();
+        if (norm > 0) {
+            float inv = (float) (1.0 / Math.sqrt(norm));
+            for (int i = 0; i < out.length; i++) {
+                out[i] *= inv;
+            }
+        }
+        return out;
+    }
+
+    private static float[] join(CompletableFuture<float[]> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package oracleai.aiholo.agents;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Single-flight coalescing of identical in-flight questions.
+ *
+ * When a room hears the same demo prompt, many visitors ask the same question
+ * within a second or two. The first caller for a given agent and normalized
+ * question ({@link QuestionTokens#normalized()}) runs the backend call; callers
+ * arriving while it is still running attach to it and get the same answer (or
+ * the same failure). Nothing is cached: once the call completes, the next
+ * identical question runs again.
+ *
+ * Agents opt out by implementing {@link AgentHints#isCoalescable()} or by
+ * being listed in COALESCE_EXCLUDED_AGENTS (valueNames, comma-separated).
+ * AGENT_COALESCING_ENABLED=false turns coalescing off entirely.
+ */
+@Component
+public class QuestionCoalescer {
+
+    private record Key(String agent, String question) {
+    }
+
+    private final boolean enabled;
+    private final Set<String> excludedAgents;
+    private final ConcurrentHashMap<Key, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong leaders = new AtomicLong();
+    private final AtomicLong followers = new AtomicLong();
+
+    public QuestionCoalescer(@Value("${AGENT_COALESCING_ENABLED:true}") boolean enabled,
+                             @Value("${COALESCE_EXCLUDED_AGENTS:clearhistory,mirrormeagent,digitaltwinagent,signagent,visionagent,image,editimage,imageneditimage}")
+                             String excludedAgents) {
+        this.enabled = enabled;
+        this.excludedAgents = Arrays.stream(excludedAgents.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public boolean isCoalescable(Agent agent) {
+        if (!enabled || excludedAgents.contains(agent.getValueName())) {
+            return false;
+        }
+        return !(agent instanceof AgentHints hints) || hints.isCoalescable();
+    }
+
+    /**
+     * Asynchronous form: {@code call} is invoked only if no identical call is
+     * in flight. Each caller gets its own dependent future, so cancelling one
+     * does not affect the others.
+     */
+    public CompletableFuture<String> coalesce(Agent agent, String question,
+                                              Supplier<CompletableFuture<String>> call) {
+        if (!isCoalescable(agent)) {
+            return call.get();
+        }
+        Key key = new Key(agent.getValueName(), QuestionTokens.of(question).normalized());
+        CompletableFuture<String> shared = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(key, shared);
+        if (existing != null) {
+            followers.incrementAndGet();
+            return existing.copy();
+        }
+        leaders.incrementAndGet();
+        try {
+            call.get().whenComplete((answer, failure) -> {
+                inFlight.remove(key, shared);
+                if (failure != null) {
+                    shared.completeExceptionally(failure);
+                } else {
+                    shared.complete(answer);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, shared);
+            shared.completeExceptionally(e);
+        }
+        return shared.copy();
+    }
+
+    /**
+     * Synchronous form for AgentService.processQuestion(): the first caller
+     * runs {@code call} on its own thread, identical concurrent callers block
+     * until it finishes and share its result.
+     */
+    public String call(Agent agent, String question, Supplier<String> call) {
+        if (!isCoalescable(agent)) {
+            return call.get();
+        }
+        Key key = new Key(agent.getValueName(), QuestionTokens.of(question).normalized());
+        CompletableFuture<String> shared = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(key, shared);
+        if (existing != null) {
+            followers.incrementAndGet();
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        leaders.incrementAndGet();
+        try {
+            String answer = call.get();
+            inFlight.remove(key, shared);
+            shared.complete(answer);
+            return answer;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, shared);
+            shared.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /** Backend calls actually made for coalescable questions. */
+    public long getLeaderCount() {
+        return leaders.get();
+    }
+
+    /** Questions answered by attaching to an identical in-flight call. */
+    public long getCoalescedCount() {
+        return followers.get();
+    }
+}
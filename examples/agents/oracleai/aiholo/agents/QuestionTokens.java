@@ -0,0 +1,142 @@
+package oracleai.aiholo.agents;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Shared, tokenized view of a visitor question.
+ *
+ * The question is lowercased and split into word tokens exactly once, and the
+ * same instance is handed to routing and to agents that need the individual
+ * words (see {@link TokenAwareAgent}). This avoids every consumer re-running
+ * its own toLowerCase/replaceAll pass over the same text.
+ *
+ * Tokens are maximal runs of letters or digits; everything else is a separator.
+ * tokens() are lowercase, the original casing is kept for search terms.
+ */
+public final class QuestionTokens {
+
+    private final String original;
+    private final String lowerCase;
+    private final String[] originalTokens;
+    private final int[] starts;
+    private final String[] tokens;
+    private String normalized;
+
+    private QuestionTokens(String original) {
+        this.original = original;
+        this.lowerCase = original.toLowerCase(Locale.ROOT);
+        List<Integer> offsets = new ArrayList<>();
+        this.originalTokens = tokenize(original, offsets);
+        this.starts = new int[offsets.size()];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = offsets.get(i);
+        }
+        this.tokens = new String[originalTokens.length];
+        for (int i = 0; i < originalTokens.length; i++) {
+            tokens[i] = originalTokens[i].toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public static QuestionTokens of(String question) {
+        return new QuestionTokens(question == null ? "" : question);
+    }
+
+    /** The question exactly as the visitor asked it. */
+    public String original() {
+        return original;
+    }
+
+    /** The question lowercased, with punctuation and spacing preserved (used for keyword matching). */
+    public String lowerCase() {
+        return lowerCase;
+    }
+
+    /** The tokens joined by single spaces, suitable as a cache or lookup key. */
+    public String normalized() {
+        if (normalized == null) {
+            normalized = String.join(" ", tokens);
+        }
+        return normalized;
+    }
+
+    public List<String> tokens() {
+        return Collections.unmodifiableList(Arrays.asList(tokens));
+    }
+
+    public int size() {
+        return tokens.length;
+    }
+
+    public String token(int index) {
+        return tokens[index];
+    }
+
+    public boolean contains(String token) {
+        for (String t : tokens) {
+            if (t.equals(token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the question with every token whose lowercase form is in the given
+     * stop set cut out, together with the whitespace that follows it. Everything
+     * else keeps its original text, so names such as "USS-Enterprise", "O'Brien"
+     * or "F/A-18" survive intact. Runs of whitespace are collapsed and trailing
+     * sentence punctuation is dropped.
+     */
+    public String without(Set<String> stopTokens) {
+        StringBuilder sb = new StringBuilder(original.length());
+        int copied = 0;
+        for (int i = 0; i < tokens.length; i++) {
+            if (stopTokens.contains(tokens[i])) {
+                sb.append(original, copied, starts[i]);
+                int end = starts[i] + originalTokens[i].length();
+                while (end < original.length() && Character.isWhitespace(original.charAt(end))) {
+                    end++;
+                }
+                copied = end;
+            }
+        }
+        sb.append(original, copied, original.length());
+        String term = sb.toString().trim().replaceAll("\\s+", " ");
+        int end = term.length();
+        while (end > 0 && "?!.,;:".indexOf(term.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        return term.substring(0, end).trim();
+    }
+
+    private static String[] tokenize(String text, List<Integer> starts) {
+        List<String> out = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isLetterOrDigit(text.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                out.add(text.substring(start, i));
+                starts.add(start);
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            out.add(text.substring(start));
+            starts.add(start);
+        }
+        return out.toArray(new String[0]);
+    }
+
+    @Override
+    public String toString() {
+        return original;
+    }
+}
@@ -0,0 +1,280 @@
+package oracleai.aiholo.agents;
+
+import org.springframework.ai.document.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Context assembly between retrieval and generation for the RAG agents.
+ *
+ * Retrieved chunks are often overlapping TokenTextSplitter neighbours or
+ * near-identical pages. Passing them through unchanged inflates the prompt,
+ * and with it LLM prefill time and cost (most noticeable on small local
+ * models). {@link #assemble(List)}:
+ * 1. drops near-duplicates: passages whose MinHash-estimated Jaccard
+ *    similarity of word 3-shingles with a better-scoring passage is at least
+ *    RAG_CONTEXT_DEDUP_THRESHOLD (default 0.8)
+ * 2. merges adjacent chunks into one passage in document order, removing
+ *    the text they overlap on; chunks are adjacent when they share source and
+ *    page and their chunk indexes are consecutive
+ * 3. packs passages, best score first, into RAG_CONTEXT_TOKEN_BUDGET tokens
+ *    (default 1500); the first passage that does not fit is cut at a sentence
+ *    boundary if enough budget is left, the rest are dropped
+ *
+ * RAG_CONTEXT_ASSEMBLY=false passes the passages through unchanged. Other
+ * retrieval code (VectorRAGService) can pass its VectorStore results to
+ * {@link #assembleDocuments(List)}.
+ */
+@Component
+public class RetrievedContextAssembler {
+
+    private static final int MINHASH_FUNCTIONS = 64;
+    private static final int SHINGLE_WORDS = 3;
+    private static final int MIN_PARTIAL_TOKENS = 50;
+    private static final int MAX_OVERLAP_CHARS = 400;
+    private static final long[] HASH_A = new long[MINHASH_FUNCTIONS];
+    private static final long[] HASH_B = new long[MINHASH_FUNCTIONS];
+
+    static {
+        // Multiply-shift hash family: odd random multipliers, fixed seed so signatures are stable
+        Random random = new Random(0x5EEDL);
+        for (int i = 0; i < MINHASH_FUNCTIONS; i++) {
+            HASH_A[i] = random.nextLong() | 1;
+            HASH_B[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * One retrieved chunk.
+     *
+     * @param source document it came from (file name), or null
+     * @param page   page within the source, or null when the source has no pages
+     * @param chunk  chunk index within the page (or the source), or null
+     * @param score  relevance, higher is better (e.g. 1 - cosine distance)
+     */
+    public record Passage(String text, String source, Integer page, Integer chunk, double score) {
+    }
+
+    @Value("${RAG_CONTEXT_ASSEMBLY:true}")
+    private boolean enabled;
+
+    @Value("${RAG_CONTEXT_TOKEN_BUDGET:1500}")
+    private int tokenBudget;
+
+    @Value("${RAG_CONTEXT_DEDUP_THRESHOLD:0.8}")
+    private double dedupThreshold;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Deduplicates, merges and packs the passages into a context string, most
+     * relevant first, passages separated by blank lines.
+     */
+    public String assemble(List<Passage> passages) {
+        StringBuilder context = new StringBuilder();
+        for (Passage passage : select(passages)) {
+            if (context.length() > 0) {
+                context.append("\n\n");
+            }
+            context.append(passage.text().trim());
+        }
+        return context.toString();
+    }
+
+    /**
+     * {@link #assemble(List)} for Spring AI VectorStore results, e.g. from
+     * VectorRAGService: the score is 1 - the "distance" metadata, source, page
+     * and chunk are "file_name", "page_number" and "chunk_index" (see
+     * VectorIngestionPipeline).
+     */
+    public String assembleDocuments(List<Document> documents) {
+        List<Passage> passages = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            Object distance = document.getMetadata().get("distance");
+            Object page = document.getMetadata().get("page_number");
+            Object chunk = document.getMetadata().get("chunk_index");
+            Object file = document.getMetadata().get("file_name");
+            passages.add(new Passage(document.getContent(),
+                    file == null ? null : file.toString(),
+                    page instanceof Number p ? p.intValue() : null,
+                    chunk instanceof Number c ? c.intValue() : null,
+                    distance instanceof Number d ? 1 - d.doubleValue() : 0));
+        }
+        return assemble(passages);
+    }
+
+    /** The passages {@link #assemble(List)} would use, in order. */
+    public List<Passage> select(List<Passage> passages) {
+        if (!enabled) {
+            return passages;
+        }
+        List<Passage> ranked = new ArrayList<>(passages);
+        ranked.removeIf(p -> p.text() == null || p.text().isBlank());
+        ranked.sort(Comparator.comparingDouble(Passage::score).reversed());
+        return pack(mergeAdjacent(deduplicate(ranked, dedupThreshold)), tokenBudget);
+    }
+
+    static List<Passage> deduplicate(List<Passage> ranked, double threshold) {
+        List<Passage> kept = new ArrayList<>(ranked.size());
+        List<int[]> signatures = new ArrayList<>(ranked.size());
+        for (Passage passage : ranked) {
+            int[] signature = minHash(passage.text());
+            boolean duplicate = false;
+            for (int[] other : signatures) {
+                if (similarity(signature, other) >= threshold) {
+                    duplicate = true;
+                    break;
+                }
+            }
+            if (!duplicate) {
+                kept.add(passage);
+                signatures.add(signature);
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Joins runs of consecutive chunk indexes from the same source and page,
+     * in chunk order. The merged passage takes the place and the best score of
+     * its highest-ranked part.
+     */
+    static List<Passage> mergeAdjacent(List<Passage> ranked) {
+        Map<List<Object>, List<Passage>> byPage = new LinkedHashMap<>();
+        for (Passage passage : ranked) {
+            if (passage.source() != null && passage.chunk() != null) {
+                // Arrays.asList, not List.of: the page may be null
+                byPage.computeIfAbsent(Arrays.asList(passage.source(), passage.page()), k -> new ArrayList<>())
+                        .add(passage);
+            }
+        }
+        Map<Passage, Passage> replacement = new LinkedHashMap<>();
+        for (List<Passage> group : byPage.values()) {
+            if (group.size() < 2) {
+                continue;
+            }
+            List<Passage> byChunk = new ArrayList<>(group);
+            byChunk.sort(Comparator.comparingInt(Passage::chunk));
+            int runStart = 0;
+            for (int i = 1; i <= byChunk.size(); i++) {
+                boolean runEnds = i == byChunk.size()
+                        || byChunk.get(i).chunk() - byChunk.get(i - 1).chunk() != 1;
+                if (runEnds) {
+                    if (i - runStart > 1) {
+                        List<Passage> run = byChunk.subList(runStart, i);
+                        Passage merged = merge(run);
+                        for (Passage part : run) {
+                            replacement.put(part, merged);
+                        }
+                    }
+                    runStart = i;
+                }
+            }
+        }
+        List<Passage> result = new ArrayList<>(ranked.size());
+        Set<Passage> emitted = new HashSet<>();
+        for (Passage passage : ranked) {
+            Passage merged = replacement.getOrDefault(passage, passage);
+            if (emitted.add(merged)) {
+                result.add(merged);
+            }
+        }
+        return result;
+    }
+
+    private static Passage merge(List<Passage> run) {
+        StringBuilder text = new StringBuilder(run.get(0).text().trim());
+        double score = run.get(0).score();
+        for (int i = 1; i < run.size(); i++) {
+            String next = run.get(i).text().trim();
+            int overlap = overlap(text, next);
+            text.append(overlap > 0 ? "" : "\n").append(next, overlap, next.length());
+            score = Math.max(score, run.get(i).score());
+        }
+        return new Passage(text.toString(), run.get(0).source(), run.get(0).page(), run.get(0).chunk(), score);
+    }
+
+    /** Length of the longest suffix of {@code a} that is a prefix of {@code b}. */
+    static int overlap(CharSequence a, String b) {
+        int max = Math.min(MAX_OVERLAP_CHARS, Math.min(a.length(), b.length()));
+        String tail = a.subSequence(a.length() - max, a.length()).toString();
+        for (int length = max; length >= 20; length--) {
+            if (b.regionMatches(0, tail, max - length, length)) {
+                return length;
+            }
+        }
+        return 0;
+    }
+
+    static List<Passage> pack(List<Passage> ranked, int budget) {
+        List<Passage> packed = new ArrayList<>();
+        int remaining = Math.max(0, budget);
+        for (Passage passage : ranked) {
+            int tokens = ConversationHistoryStore.estimateTokens(passage.text());
+            if (tokens <= remaining) {
+                packed.add(passage);
+                remaining -= tokens;
+            } else {
+                if (remaining >= MIN_PARTIAL_TOKENS) {
+                    String cut = cutAtSentence(passage.text(), remaining * 4);
+                    if (!cut.isEmpty()) {
+                        packed.add(new Passage(cut, passage.source(), passage.page(), passage.chunk(), passage.score()));
+                    }
+                }
+                break;
+            }
+        }
+        return packed;
+    }
+
+    private static String cutAtSentence(String text, int maxChars) {
+        String head = text.substring(0, Math.min(text.length(), maxChars));
+        int end = Math.max(head.lastIndexOf(". "), Math.max(head.lastIndexOf("? "), head.lastIndexOf("! ")));
+        return end > 0 ? head.substring(0, end + 1) : "";
+    }
+
+    static int[] minHash(String text) {
+        int[] signature = new int[MINHASH_FUNCTIONS];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        String[] words = text.toLowerCase(Locale.ROOT).split("\\W+");
+        int shingles = Math.max(1, words.length - SHINGLE_WORDS + 1);
+        for (int s = 0; s < shingles; s++) {
+            int h = 0;
+            for (int w = s; w < Math.min(words.length, s + SHINGLE_WORDS); w++) {
+                h = 31 * h + Objects.hashCode(words[w]);
+            }
+            long x = h & 0xffffffffL;
+            for (int i = 0; i < MINHASH_FUNCTIONS; i++) {
+                int value = (int) ((HASH_A[i] * x + HASH_B[i]) >>> 33);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+}
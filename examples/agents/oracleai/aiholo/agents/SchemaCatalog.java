@@ -0,0 +1,154 @@
+package oracleai.aiholo.agents;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cached catalog of the application schema: tables, columns and comments.
+ *
+ * The dictionary views are read once at startup and then only when DDL is
+ * detected. Every SCHEMA_CATALOG_REFRESH_SECONDS a single cheap query over
+ * USER_OBJECTS (max LAST_DDL_TIME and object count) is compared with the
+ * loaded version; if it changed, the catalog is reloaded into a new immutable
+ * {@link Snapshot}, swapped in atomically, and a {@link SchemaChangedEvent} is
+ * published.
+ *
+ * Request paths read {@link #snapshot()} and never touch the dictionary views.
+ */
+@Component
+public class SchemaCatalog {
+
+    private static final String SCHEMA_VERSION_SQL =
+            "SELECT TO_CHAR(MAX(last_ddl_time), 'YYYYMMDDHH24MISS') || ':' || COUNT(*) FROM user_objects";
+
+    private static final String TABLES_SQL = """
+            SELECT t.table_name, c.comments
+            FROM user_tables t
+            LEFT JOIN user_tab_comments c ON c.table_name = t.table_name
+            ORDER BY t.table_name
+            """;
+
+    private static final String COLUMNS_SQL = """
+            SELECT col.table_name, col.column_name, col.data_type, col.nullable, cc.comments
+            FROM user_tab_columns col
+            JOIN user_tables t ON t.table_name = col.table_name
+            LEFT JOIN user_col_comments cc
+                   ON cc.table_name = col.table_name AND cc.column_name = col.column_name
+            ORDER BY col.table_name, col.column_id
+            """;
+
+    public record Column(String name, String dataType, boolean nullable, String comment) {
+    }
+
+    public record Table(String name, String comment, List<Column> columns) {
+    }
+
+    /**
+     * Immutable view of the schema. Table names are upper case, as in the dictionary.
+     */
+    public record Snapshot(String version, Map<String, Table> tables) {
+
+        static final Snapshot EMPTY = new Snapshot("", Map.of());
+
+        public Table table(String name) {
+            return name == null ? null : tables.get(name.toUpperCase(Locale.ROOT));
+        }
+    }
+
+    @Autowired(required = false)
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${SCHEMA_CATALOG_REFRESH_SECONDS:60}")
+    private long refreshSeconds;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(Snapshot.EMPTY);
+    private ScheduledExecutorService refresher;
+
+    public boolean isConfigured() {
+        return jdbcTemplate != null;
+    }
+
+    public Snapshot snapshot() {
+        return current.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!isConfigured()) {
+            return;
+        }
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "schema-catalog-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+        refresher.scheduleWithFixedDelay(this::refreshIfChanged, 0, refreshSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    /**
+     * Reloads the catalog if the schema version changed since the last load.
+     */
+    public void refreshIfChanged() {
+        try {
+            String version = jdbcTemplate.queryForObject(SCHEMA_VERSION_SQL, String.class);
+            Snapshot previous = current.get();
+            if (previous != Snapshot.EMPTY && previous.version().equals(version)) {
+                return;
+            }
+            Snapshot loaded = load(version);
+            current.set(loaded);
+            System.out.println("Schema catalog loaded " + loaded.tables().size() + " tables");
+            if (previous != Snapshot.EMPTY) {
+                eventPublisher.publishEvent(new SchemaChangedEvent(previous.version(), version));
+            }
+        } catch (Exception e) {
+            System.err.println("Schema catalog refresh failed: " + e.getMessage());
+        }
+    }
+
+    private Snapshot load(String version) {
+        Map<String, String> comments = new LinkedHashMap<>();
+        jdbcTemplate.query(TABLES_SQL, rs -> {
+            comments.put(rs.getString(1), rs.getString(2));
+        });
+
+        Map<String, List<Column>> columns = new HashMap<>();
+        jdbcTemplate.query(COLUMNS_SQL, rs -> {
+            columns.computeIfAbsent(rs.getString(1), k -> new ArrayList<>())
+                   .add(new Column(rs.getString(2), rs.getString(3), "Y".equals(rs.getString(4)), rs.getString(5)));
+        });
+
+        Map<String, Table> tables = new LinkedHashMap<>();
+        comments.forEach((name, comment) -> tables.put(name,
+                new Table(name, comment, List.copyOf(columns.getOrDefault(name, List.of())))));
+        return new Snapshot(version, Collections.unmodifiableMap(tables));
+    }
+}
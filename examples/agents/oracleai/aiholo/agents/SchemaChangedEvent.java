@@ -0,0 +1,12 @@
+package oracleai.aiholo.agents;
+
+/**
+ * Application event published by {@link SchemaCatalog} when it detects DDL in
+ * the application schema. Components that cache anything derived from the
+ * schema (generated SQL, table lists) listen for it with {@code @EventListener}.
+ *
+ * @param previousVersion the schema version before the change
+ * @param currentVersion  the schema version after the change
+ */
+public record SchemaChangedEvent(String previousVersion, String currentVersion) {
+}
@@ -0,0 +1,246 @@
+package oracleai.aiholo.agents;
+
+import org.springframework.ai.embedding.EmbeddingClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answer cache in front of the RAG agents (SpringAIVectorRAGAgent, OllamaDBRAGAgent).
+ *
+ * Lookups are two-level:
+ * 1. exact match on the normalized question text (lowercase tokens)
+ * 2. semantic match: the question embedding is compared with the cached
+ *    question embeddings, and the closest one above the similarity threshold wins
+ *
+ * Entries are kept per agent, bounded in number with LRU eviction and expire
+ * after a TTL. The whole cache is dropped when the vector store changes
+ * (see {@link VectorStoreChangedEvent}), so answers never outlive the documents
+ * they were generated from. A RAG call that started before such a change may
+ * finish after it; its answer is not cached, because the key it was computed
+ * under belongs to an older generation of the cache.
+ *
+ * Configuration:
+ * - RAG_CACHE_ENABLED (default true)
+ * - RAG_CACHE_MAX_ENTRIES (default 500)
+ * - RAG_CACHE_TTL_SECONDS (default 3600)
+ * - RAG_CACHE_SIMILARITY_THRESHOLD (cosine similarity, default 0.92)
+ *
+ * Semantic lookup needs an EmbeddingClient bean; without one only exact
+ * matches are served.
+ */
+@Component
+public class SemanticAnswerCache {
+
+    @Autowired(required = false)
+    private EmbeddingClient embeddingClient;
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final double similarityThreshold;
+
+    private final LinkedHashMap<String, Entry> entries;
+    private long generation;
+
+    private final AtomicLong exactHits = new AtomicLong();
+    private final AtomicLong semanticHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public SemanticAnswerCache(@Value("${RAG_CACHE_ENABLED:true}") boolean enabled,
+                               @Value("${RAG_CACHE_MAX_ENTRIES:500}") int maxEntries,
+                               @Value("${RAG_CACHE_TTL_SECONDS:3600}") long ttlSeconds,
+                               @Value("${RAG_CACHE_SIMILARITY_THRESHOLD:0.92}") double similarityThreshold) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.similarityThreshold = similarityThreshold;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > SemanticAnswerCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Identifies one question for one agent. Computing the key embeds the
+     * question once, and the same embedding is reused by {@link #put}. The
+     * key also records the cache generation at lookup time.
+     */
+    public record Key(String agent, String normalized, float[] embedding, long generation) {
+    }
+
+    public record Stats(long exactHits, long semanticHits, long misses, int size) {
+        public long llmCallsSaved() {
+            return exactHits + semanticHits;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Key key(String agentValueName, String question) {
+        String normalized = QuestionTokens.of(question).normalized();
+        float[] embedding = null;
+        if (enabled && embeddingClient != null && !hasExact(agentValueName, normalized)) {
+            try {
+                embedding = normalize(embeddingClient.embed(question));
+            } catch (Exception e) {
+                System.err.println("Answer cache could not embed question, using exact match only: " + e.getMessage());
+            }
+        }
+        long current;
+        synchronized (entries) {
+            current = generation;
+        }
+        return new Key(agentValueName, normalized, embedding, current);
+    }
+
+    /**
+     * Returns the cached answer for the question, or null on a miss.
+     */
+    public String get(Key key) {
+        if (!enabled) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry exact = entries.get(exactKey(key.agent(), key.normalized()));
+            if (exact != null && !exact.isExpired(now, ttlMillis)) {
+                exactHits.incrementAndGet();
+                return exact.answer;
+            }
+
+            if (key.embedding() != null) {
+                Entry best = null;
+                double bestScore = similarityThreshold;
+                for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+                    Entry entry = it.next();
+                    if (entry.isExpired(now, ttlMillis)) {
+                        it.remove();
+                        continue;
+                    }
+                    if (entry.embedding == null || !entry.agent.equals(key.agent())) {
+                        continue;
+                    }
+                    double score = dot(entry.embedding, key.embedding());
+                    if (score >= bestScore) {
+                        bestScore = score;
+                        best = entry;
+                    }
+                }
+                if (best != null) {
+                    entries.get(exactKey(best.agent, best.normalized)); // refresh LRU position
+                    semanticHits.incrementAndGet();
+                    return best.answer;
+                }
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Caches the answer, unless the cache was invalidated since the key was
+     * computed: the answer may then be based on documents that have changed.
+     */
+    public void put(Key key, String answer) {
+        if (!enabled || answer == null || answer.isBlank()) {
+            return;
+        }
+        Entry entry = new Entry(key.agent(), key.normalized(), key.embedding(), answer, System.currentTimeMillis());
+        synchronized (entries) {
+            if (key.generation() != generation) {
+                return;
+            }
+            entries.put(exactKey(key.agent(), key.normalized()), entry);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    @EventListener
+    public void onVectorStoreChanged(VectorStoreChangedEvent event) {
+        invalidateAll();
+        System.out.println("Answer cache cleared after change to " + event.tableName());
+    }
+
+    public Stats getStats() {
+        synchronized (entries) {
+            return new Stats(exactHits.get(), semanticHits.get(), misses.get(), entries.size());
+        }
+    }
+
+    private boolean hasExact(String agent, String normalized) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(exactKey(agent, normalized));
+            return entry != null && !entry.isExpired(now, ttlMillis);
+        }
+    }
+
+    private static String exactKey(String agent, String normalized) {
+        return agent + '\u0000' + normalized;
+    }
+
+    private static float[] normalize(List<Double> vector) {
+        float[] out = new float[vector.size()];
+        double norm = 0;
+        for (int i = 0; i < out.length; i++) {
+            out[i] = vector.get(i).floatValue();
+            norm += out[i] * out[i];
+        }
+        if (norm > 0) {
+            float inv = (float) (1.0 / Math.sqrt(norm));
+            for (int i = 0; i < out.length; i++) {
+                out[i] *= inv;
+            }
+        }
+        return out;
+    }
+
+    private static double dot(float[] a, float[] b) {
+        if (a.length != b.length) {
+            return -1;
+        }
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    private static final class Entry {
+        final String agent;
+        final String normalized;
+        final float[] embedding;
+        final String answer;
+        final long createdAt;
+
+        Entry(String agent, String normalized, float[] embedding, String answer, long createdAt) {
+            this.agent = agent;
+            this.normalized = normalized;
+            this.embedding = embedding;
+            this.answer = answer;
+            this.createdAt = createdAt;
+        }
+
+        boolean isExpired(long now, long ttlMillis) {
+            return now - createdAt > ttlMillis;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package oracleai.aiholo.agents;
+
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Regroups streamed text chunks into complete sentences.
+ *
+ * A sentence ends at a newline, or at '.', '!' or '?' followed by whitespace,
+ * so decimals ("3.5") and file names ("a.pdf") are not split. Very short
+ * fragments are held back and joined with the next sentence, which keeps TTS
+ * from synthesizing single words like "Sure." on their own.
+ *
+ * Instances are not thread-safe; use one per answer.
+ */
+public class SentenceChunker {
+
+    static final int MIN_SENTENCE_LENGTH = 12;
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    /**
+     * Appends a chunk and returns any sentences it completed.
+     */
+    public List<String> push(String chunk) {
+        List<String> sentences = new ArrayList<>(1);
+        if (chunk == null || chunk.isEmpty()) {
+            return sentences;
+        }
+        int scanFrom = Math.max(0, buffer.length() - 1);
+        buffer.append(chunk);
+        int start = 0;
+        for (int i = scanFrom; i < buffer.length() - 1; i++) {
+            char c = buffer.charAt(i);
+            boolean terminator = c == '\n'
+                    || ((c == '.' || c == '!' || c == '?') && Character.isWhitespace(buffer.charAt(i + 1)));
+            if (terminator && i + 1 - start >= MIN_SENTENCE_LENGTH) {
+                String sentence = buffer.substring(start, i + 1).trim();
+                if (!sentence.isEmpty()) {
+                    sentences.add(sentence);
+                }
+                start = i + 1;
+            }
+        }
+        buffer.delete(0, start);
+        return sentences;
+    }
+
+    /**
+     * Returns whatever text remains after the last complete sentence.
+     */
+    public String flush() {
+        String rest = buffer.toString().trim();
+        buffer.setLength(0);
+        return rest;
+    }
+
+    /**
+     * Splits a complete answer into sentences.
+     */
+    public static List<String> split(String text) {
+        SentenceChunker chunker = new SentenceChunker();
+        List<String> sentences = chunker.push(text);
+        String rest = chunker.flush();
+        if (!rest.isEmpty()) {
+            sentences.add(rest);
+        }
+        return sentences;
+    }
+
+    /**
+     * Converts a stream of arbitrary text chunks into a stream of sentences.
+     */
+    public static Flux<String> sentences(Flux<String> chunks) {
+        return Flux.defer(() -> {
+            SentenceChunker chunker = new SentenceChunker();
+            return chunks.concatMapIterable(chunker::push)
+                    .concatWith(Flux.defer(() -> {
+                        String rest = chunker.flush();
+                        return rest.isEmpty() ? Flux.empty() : Flux.just(rest);
+                    }));
+        });
+    }
+}
@@ -0,0 +1,150 @@
+package oracleai.aiholo.agents;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Speculative execution for AGENT_ROUTING_MODE=llm with
+ * AGENT_ROUTING_SPECULATIVE=true.
+ *
+ * While the routing LLM call is in flight, the agent picked by
+ * {@link EmbeddingRouter} (top embedding match, or keyword matching when no
+ * embedding model is configured) is started in parallel. When the router
+ * answers:
+ * - same agent: the speculative call is kept, so routing and answering overlap
+ * - different agent: the speculative call is cancelled (JDBC cancel, thread
+ *   interrupt) and the router's choice runs
+ * - "none", routing failure or no reply within AGENT_ROUTING_TIMEOUT_MS
+ *   (default 5000; the routing call is then interrupted): the guess stands,
+ *   as in plain llm mode, where keyword matching is the fallback
+ *
+ * Only agents that declare {@link AgentHints#isSpeculationSafe()} or are
+ * listed in SPECULATIVE_SAFE_AGENTS are started early; for any other guess the
+ * dispatcher simply waits for the router.
+ */
+@Component
+public class SpeculativeDispatcher {
+
+    @Autowired
+    private EmbeddingRouter guessRouter;
+
+    @Autowired
+    private AsyncAgentExecutor executor;
+
+    private final boolean enabled;
+    private final long routingTimeoutMillis;
+    private final Set<String> safeAgents;
+    private final ExecutorService routingExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public SpeculativeDispatcher(@Value("${AGENT_ROUTING_SPECULATIVE:false}") boolean enabled,
+                                 @Value("${SPECULATIVE_SAFE_AGENTS:springaivectorrag,indbonnxvectorrag,shipsagent,equipmentagent}")
+                                 String safeAgents,
+                                 @Value("${AGENT_ROUTING_TIMEOUT_MS:5000}") long routingTimeoutMillis) {
+        this.enabled = enabled;
+        this.routingTimeoutMillis = routingTimeoutMillis;
+        this.safeAgents = Arrays.stream(safeAgents.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isSpeculationSafe(Agent agent) {
+        if (safeAgents.contains(agent.getValueName())) {
+            return true;
+        }
+        return agent instanceof AgentHints hints && hints.isSpeculationSafe();
+    }
+
+    /**
+     * Routes with the LLM and answers the question, overlapping the two when
+     * the guess is safe to run early.
+     *
+     * @param prompt    the compiled routing prompt for the enabled agents
+     * @param routerLlm sends a prompt to the routing LLM and returns its reply
+     * @param fallback  answers when no agent is chosen or the chosen one fails
+     */
+    public CompletableFuture<String> dispatch(QuestionTokens question, LlmRoutingPrompt prompt,
+                                              UnaryOperator<String> routerLlm, Agent fallback) {
+        String text = question.original();
+        Agent guess = guessRouter.route(question);
+
+        CompletableFuture<String> speculative = guess != null && isSpeculationSafe(guess)
+                ? executor.startCancellable(guess, text)
+                : null;
+
+        CompletableFuture<Agent> choice = new CompletableFuture<>();
+        Future<?> routing = routingExecutor.submit(() -> {
+            try {
+                choice.complete(prompt.parseChoice(routerLlm.apply(prompt.forQuestion(text))));
+            } catch (Throwable t) {
+                choice.completeExceptionally(t);
+            }
+        });
+        String instead = guess == null ? "fallback" : guess.getValueName();
+        CompletableFuture<Agent> routed = choice
+                .orTimeout(routingTimeoutMillis, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof TimeoutException) {
+                        // Interrupts the hung HTTP call
+                        routing.cancel(true);
+                        System.err.println("LLM routing took longer than " + routingTimeoutMillis + " ms, using " + instead);
+                    } else {
+                        System.err.println("LLM routing failed, using " + instead + ": " + cause.getMessage());
+                    }
+                    return null;
+                });
+
+        return routed.thenCompose(chosen -> {
+            Agent agent = chosen != null ? chosen : guess;
+            if (speculative != null) {
+                if (agent == guess) {
+                    hits.incrementAndGet();
+                    return executor.withFallback(speculative, guess, text, fallback);
+                }
+                misses.incrementAndGet();
+                speculative.cancel(true);
+            }
+            if (agent == null) {
+                return executor.processQuestionAsync(fallback, text, null);
+            }
+            return executor.processQuestionAsync(agent, text, fallback);
+        });
+    }
+
+    /** Speculative runs whose agent the router confirmed. */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /** Speculative runs cancelled because the router chose another agent. */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        routingExecutor.shutdownNow();
+    }
+}
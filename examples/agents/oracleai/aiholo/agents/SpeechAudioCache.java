@@ -0,0 +1,275 @@
+package oracleai.aiholo.agents;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed disk cache of synthesized speech, one entry per sentence.
+ *
+ * Demo answers and canned agent replies ("... is not available right now")
+ * repeat constantly, and on CPU-only Piper machines synthesis is a large part
+ * of the time to first audio. Entries are keyed by the SHA-256 of
+ * engine | voice | sentence (whitespace collapsed), so:
+ * - a different TTS engine or voice never gets someone else's audio
+ * - answers that share sentences with an earlier answer reuse those segments,
+ *   and only the new sentences are synthesized
+ *
+ * Audio is stored as one file per sentence in TTS_CACHE_DIR and read back
+ * through read-only memory-mapped buffers, so serving a hit does not copy
+ * the file onto the heap. Files are written to a temporary name and moved into
+ * place, so a crash never leaves a truncated entry. When the total size
+ * exceeds TTS_CACHE_MAX_BYTES the least recently used entries are deleted.
+ * Existing files are picked up at startup in last-modified order.
+ *
+ * AgentService wraps its TTS call with {@link #sink(String, String, Function, Consumer)}
+ * and passes the result to {@link StreamingAnswerService} as the sentence sink.
+ */
+@Component
+public class SpeechAudioCache {
+
+    private static final String SUFFIX = ".audio";
+
+    @Value("${TTS_CACHE_ENABLED:true}")
+    private boolean enabled;
+
+    @Value("${TTS_CACHE_DIR:${java.io.tmpdir}/aiholo-tts-cache}")
+    private String cacheDir;
+
+    @Value("${TTS_CACHE_MAX_BYTES:268435456}")
+    private long maxBytes;
+
+    private Path directory;
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            directory = Paths.get(cacheDir);
+            Files.createDirectories(directory);
+            loadExisting();
+        } catch (IOException e) {
+            System.err.println("TTS audio cache disabled, cannot use " + cacheDir + ": " + e.getMessage());
+            directory = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled && directory != null;
+    }
+
+    /**
+     * Cached audio for the sentence as a read-only buffer, or null on a miss.
+     */
+    public ByteBuffer get(String engine, String voice, String sentence) {
+        if (!isEnabled()) {
+            return null;
+        }
+        String key = key(engine, voice, sentence);
+        synchronized (entries) {
+            if (entries.get(key) == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+        }
+        try {
+            ByteBuffer audio = map(file(key));
+            hits.incrementAndGet();
+            return audio;
+        } catch (IOException e) {
+            // Removed behind our back; forget it
+            remove(key);
+            misses.incrementAndGet();
+            return null;
+        }
+    }
+
+    /**
+     * Stores synthesized audio for the sentence and evicts the least recently
+     * used entries if the cache is over its size limit.
+     */
+    public void put(String engine, String voice, String sentence, byte[] audio) {
+        if (!isEnabled() || audio == null || audio.length == 0 || audio.length > maxBytes) {
+            return;
+        }
+        String key = key(engine, voice, sentence);
+        Path target = file(key);
+        try {
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            Files.write(temp, audio);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not write TTS cache entry: " + e.getMessage());
+            return;
+        }
+        synchronized (entries) {
+            Long previous = entries.put(key, (long) audio.length);
+            totalBytes += audio.length - (previous == null ? 0 : previous);
+        }
+        evictOverLimit();
+    }
+
+    /**
+     * Audio for the sentence, from the cache or from {@code tts} (which is then
+     * cached).
+     */
+    public ByteBuffer getOrSynthesize(String engine, String voice, String sentence, Function<String, byte[]> tts) {
+        ByteBuffer cached = get(engine, voice, sentence);
+        if (cached != null) {
+            return cached;
+        }
+        byte[] audio = tts.apply(sentence);
+        if (audio == null) {
+            return null;
+        }
+        put(engine, voice, sentence, audio);
+        return ByteBuffer.wrap(audio).asReadOnlyBuffer();
+    }
+
+    /**
+     * Splits the answer into sentences and returns one audio segment per
+     * sentence, synthesizing only the sentences that are not cached.
+     */
+    public List<ByteBuffer> synthesize(String engine, String voice, String text, Function<String, byte[]> tts) {
+        List<String> sentences = SentenceChunker.split(text);
+        List<ByteBuffer> segments = new ArrayList<>(sentences.size());
+        for (String sentence : sentences) {
+            ByteBuffer audio = getOrSynthesize(engine, voice, sentence, tts);
+            if (audio != null) {
+                segments.add(audio);
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * A sentence sink for {@link StreamingAnswerService}: each sentence is
+     * served from the cache or synthesized by {@code tts}, then handed to
+     * {@code player}.
+     */
+    public Consumer<String> sink(String engine, String voice, Function<String, byte[]> tts,
+                                 Consumer<ByteBuffer> player) {
+        return sentence -> {
+            ByteBuffer audio = getOrSynthesize(engine, voice, sentence, tts);
+            if (audio != null) {
+                player.accept(audio);
+            }
+        };
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getTotalBytes() {
+        synchronized (entries) {
+            return totalBytes;
+        }
+    }
+
+    static String key(String engine, String voice, String sentence) {
+        String normalized = sentence == null ? "" : sentence.trim().replaceAll("\\s+", " ");
+        return DocumentSummarizer.sha256(engine + '|' + voice + '|' + normalized);
+    }
+
+    private Path file(String key) {
+        return directory.resolve(key + SUFFIX);
+    }
+
+    private static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private void evictOverLimit() {
+        List<String> evicted = new ArrayList<>();
+        synchronized (entries) {
+            Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && it.hasNext()) {
+                Map.Entry<String, Long> eldest = it.next();
+                totalBytes -= eldest.getValue();
+                evicted.add(eldest.getKey());
+                it.remove();
+            }
+        }
+        for (String key : evicted) {
+            delete(file(key));
+        }
+    }
+
+    private void remove(String key) {
+        synchronized (entries) {
+            Long size = entries.remove(key);
+            if (size != null) {
+                totalBytes -= size;
+            }
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Windows refuses to delete a file that is still mapped; retry at exit
+            file.toFile().deleteOnExit();
+        }
+    }
+
+    /** Indexes files left by a previous run, oldest first, so they are evicted first. */
+    private void loadExisting() throws IOException {
+        try (Stream<Path> leftovers = Files.list(directory)) {
+            leftovers.filter(p -> p.getFileName().toString().endsWith(".tmp")).forEach(SpeechAudioCache::delete);
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> audio = files
+                    .filter(p -> p.getFileName().toString().endsWith(SUFFIX))
+                    .sorted(Comparator.comparingLong(SpeechAudioCache::lastModified))
+                    .toList();
+            synchronized (entries) {
+                for (Path p : audio) {
+                    String name = p.getFileName().toString();
+                    long size = p.toFile().length();
+                    entries.put(name.substring(0, name.length() - SUFFIX.length()), size);
+                    totalBytes += size;
+                }
+            }
+        }
+        evictOverLimit();
+        System.out.println("TTS audio cache: " + entries.size() + " entries (" + totalBytes + " bytes) in " + directory);
+    }
+
+    private static long lastModified(Path p) {
+        return p.toFile().lastModified();
+    }
+}
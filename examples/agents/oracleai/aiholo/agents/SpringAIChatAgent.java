@@ -2,11 +2,15 @@ package oracleai.aiholo.agents;
 
 import org.springframework.ai.chat.ChatClient;
 import org.springframework.ai.chat.ChatResponse;
+import org.springframework.ai.chat.StreamingChatClient;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Spring AI Chat Agent that uses Spring AI's ChatClient with Oracle Database
@@ -17,18 +21,38 @@ import org.springframework.stereotype.Component;
  * - Oracle Database as a data source for grounding responses
  * - Spring AI's structured output capabilities
  *
- * The agent queries Oracle for relevant context, then passes it to the
- * ChatClient to generate a grounded response.
+ * Grounding context comes from {@link GroundingContextAssembler}: static
+ * context (such as the database version) is precomputed in the background,
+ * and dynamic providers run concurrently with per-provider deadlines, so no
+ * serial database round trip sits in front of the LLM call. When the client
+ * also supports streaming, answers are streamed token by token so speech can
+ * start on the first sentence.
+ *
+ * Plain processQuestion(question) keeps no history, so answers never leak
+ * from one visitor to the next. Callers that track a session pass its id
+ * through {@link ConversationalAgent}: earlier turns of that session then come
+ * from {@link ConversationHistoryStore} as a rolling summary plus the most
+ * recent turns, within a fixed token budget, and each answer is recorded.
  */
 @Component
-public class SpringAIChatAgent implements Agent {
+public class SpringAIChatAgent implements StreamingAgent, AgentHints, WarmableAgent, ConversationalAgent {
 
     @Autowired(required = false)
     @Qualifier("openAiChatClient")
     private ChatClient chatClient;
 
     @Autowired(required = false)
-    private JdbcTemplate jdbcTemplate;
+    @Qualifier("openAiChatClient")
+    private StreamingChatClient streamingChatClient;
+
+    @Autowired
+    private GroundingContextAssembler groundingContext;
+
+    @Autowired(required = false)
+    private ConversationHistoryStore history;
+
+    @Value("${AGENT_WARMUP_LLM_CALLS:false}")
+    private boolean warmupLlmCalls;
 
     @Override
     public String getName() {
@@ -50,6 +74,12 @@ public class SpringAIChatAgent implements Agent {
         };
     }
 
+    /** The plain path, which speculation uses, keeps no history. */
+    @Override
+    public boolean isSpeculationSafe() {
+        return true;
+    }
+
     @Override
     public boolean isConfigured() {
         return chatClient != null;
@@ -60,45 +90,99 @@ public class SpringAIChatAgent implements Agent {
         return true;
     }
 
+    /**
+     * Computes the static grounding context. With AGENT_WARMUP_LLM_CALLS=true a
+     * one-word chat call also opens the HTTP connection to the provider; it is
+     * off by default because hosted providers bill for it.
+     */
+    @Override
+    public void warmUp() {
+        groundingContext.staticContext();
+        if (warmupLlmCalls) {
+            chatClient.call(new Prompt("Reply with the single word OK."));
+        }
+    }
+
     @Override
     public String processQuestion(String question) {
-        System.out.println("Spring AI Chat Agent processing: " + question);
+        return processQuestion(null, question);
+    }
+
+    @Override
+    public String processQuestion(String sessionId, String question) {
+        AgentLog.info(() -> "Spring AI Chat Agent processing: " + question);
 
         if (!isConfigured()) {
             return "I'm sorry, the Spring AI Chat feature is not available right now. Please check the OpenAI configuration.";
         }
 
         try {
-            // Optionally retrieve database context for grounding
-            String dbContext = "";
-            if (jdbcTemplate != null) {
-                try {
-                    // Example: pull relevant metadata from Oracle to ground the response
-                    dbContext = jdbcTemplate.queryForObject(
-                        "SELECT 'Database: Oracle ' || version_full FROM product_component_version WHERE ROWNUM = 1",
-                        String.class
-                    );
-                } catch (Exception e) {
-                    // DB context is optional — proceed without it
-                    dbContext = "";
-                }
-            }
-
-            String prompt = question;
-            if (!dbContext.isEmpty()) {
-                prompt = "Context: " + dbContext + "\n\nQuestion: " + question + "\n\nAnswer concisely.";
-            }
-
-            ChatResponse response = chatClient.call(new Prompt(prompt));
+            String context = groundingContext.contextFor(QuestionTokens.of(question));
+            long llmStart = System.nanoTime();
+            ChatResponse response = chatClient.call(new Prompt(buildPrompt(historyContext(sessionId), context, question)));
+            AgentMetrics.recordLlm(llmStart);
             String answer = response.getResult().getOutput().getContent();
+            recordTurn(sessionId, question, answer);
 
-            System.out.println("Spring AI Chat Agent successfully processed query");
+            AgentLog.info("Spring AI Chat Agent successfully processed query");
             return answer;
 
         } catch (Exception e) {
-            System.err.println("Error in Spring AI Chat Agent: " + e.getMessage());
-            e.printStackTrace();
+            AgentMetrics.markError();
+            AgentLog.error("Error in Spring AI Chat Agent", e);
             return "I'm having difficulty processing your chat request right now. Error: " + e.getMessage();
         }
     }
+
+    @Override
+    public Flux<String> processQuestionStream(String question) {
+        return processQuestionStream(null, question);
+    }
+
+    /** Streams the answer in the given session; see {@link #processQuestion(String, String)}. */
+    public Flux<String> processQuestionStream(String sessionId, String question) {
+        if (streamingChatClient == null || !isConfigured()) {
+            return Mono.fromCallable(() -> processQuestion(sessionId, question))
+                    .flux()
+                    .subscribeOn(Schedulers.boundedElastic());
+        }
+        AgentLog.info(() -> "Spring AI Chat Agent streaming: " + question);
+
+        StringBuilder answer = new StringBuilder();
+        return Mono.fromFuture(() -> groundingContext.assemble(QuestionTokens.of(question)))
+                .flatMapMany(context -> streamingChatClient.stream(
+                        new Prompt(buildPrompt(historyContext(sessionId), context, question))))
+                .filter(response -> response.getResult() != null && response.getResult().getOutput() != null)
+                .map(response -> response.getResult().getOutput().getContent())
+                .filter(content -> content != null && !content.isEmpty())
+                .doOnNext(answer::append)
+                .doOnComplete(() -> recordTurn(sessionId, question, answer.toString()))
+                .onErrorResume(e -> {
+                    System.err.println("Error in Spring AI Chat Agent stream: " + e.getMessage());
+                    return Flux.just("I'm having difficulty processing your chat request right now. Error: " + e.getMessage());
+                });
+    }
+
+    private String historyContext(String sessionId) {
+        return history == null || sessionId == null ? "" : history.promptContext(sessionId);
+    }
+
+    private void recordTurn(String sessionId, String question, String answer) {
+        if (history != null && sessionId != null) {
+            history.record(sessionId, question, answer);
+        }
+    }
+
+    private static String buildPrompt(String conversation, String context, String question) {
+        boolean hasContext = context != null && !context.isEmpty();
+        if (conversation.isEmpty() && !hasContext) {
+            return question;
+        }
+        StringBuilder prompt = new StringBuilder(conversation.length() + question.length() + 64);
+        prompt.append(conversation);
+        if (hasContext) {
+            prompt.append("Context: ").append(context).append("\n\n");
+        }
+        return prompt.append("Question: ").append(question).append("\n\nAnswer concisely.").toString();
+    }
 }
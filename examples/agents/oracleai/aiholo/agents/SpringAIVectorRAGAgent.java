@@ -1,8 +1,17 @@
 package oracleai.aiholo.agents;
 
 import oracleai.vectorrag.service.VectorRAGService;
+import org.springframework.ai.chat.ChatClient;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * Spring AI Vector RAG Agent that performs vector search and RAG queries
  * using the Spring AI VectorStore integration with Oracle 23ai.
@@ -11,12 +20,43 @@ import org.springframework.stereotype.Component;
  * - Spring AI VectorStore for similarity search with OpenAI embeddings
  * - Spring AI ChatClient for LLM response generation (external OpenAI)
  * - Oracle Database 23ai as the vector store backend
+ * - SemanticAnswerCache to answer repeated or reworded questions without a new LLM call
+ *
+ * By default VectorRAGService.rag() handles retrieval and generation. The
+ * agent runs its own pipeline instead only when asked to and an OpenAI
+ * ChatClient is available: with RAG_AGENT_OWN_RETRIEVAL=true, or when an
+ * approximate vector index (VECTORRAG_ANN_INDEX, VECTORRAG_INDEX_TYPE) is
+ * ready, since rag() does not search through those. It then retrieves
+ * RAG_CONTEXT_CANDIDATES chunks itself (see retrieve()), packs them with
+ * {@link RetrievedContextAssembler#assembleDocuments(List)} and asks the LLM.
  */
 @Component
-public class SpringAIVectorRAGAgent implements Agent {
+public class SpringAIVectorRAGAgent implements Agent, AgentHints {
 
     private final VectorRAGService vectorRAGService;
 
+    @Autowired(required = false)
+    private SemanticAnswerCache answerCache;
+
+    @Autowired(required = false)
+    private RetrievedContextAssembler contextAssembler;
+
+    @Autowired(required = false)
+    private InMemoryVectorIndex annIndex;
+
+    @Autowired(required = false)
+    private VectorIndexManager dbIndex;
+
+    @Autowired(required = false)
+    @Qualifier("openAiChatClient")
+    private ChatClient chatClient;
+
+    @Value("${RAG_AGENT_OWN_RETRIEVAL:false}")
+    private boolean ownRetrievalEnabled;
+
+    @Value("${RAG_CONTEXT_CANDIDATES:8}")
+    private int candidates;
+
     public SpringAIVectorRAGAgent(VectorRAGService vectorRAGService) {
         this.vectorRAGService = vectorRAGService;
     }
@@ -41,6 +81,11 @@ public class SpringAIVectorRAGAgent implements Agent {
         };
     }
 
+    @Override
+    public boolean isSpeculationSafe() {
+        return true;
+    }
+
     @Override
     public boolean isConfigured() {
         return vectorRAGService != null && vectorRAGService.getVectorStore() != null;
@@ -48,21 +93,83 @@ public class SpringAIVectorRAGAgent implements Agent {
 
     @Override
     public String processQuestion(String question) {
-        System.out.println("Spring AI Vector RAG Agent processing: " + question);
+        AgentLog.info(() -> "Spring AI Vector RAG Agent processing: " + question);
 
         if (!isConfigured()) {
             return "I'm sorry, the document search feature is not available right now. Please check the configuration.";
         }
 
         try {
-            String answer = vectorRAGService.rag(question);
-            System.out.println("Spring AI Vector RAG Agent successfully processed query via VectorRAGService");
+            SemanticAnswerCache.Key cacheKey = null;
+            if (answerCache != null && answerCache.isEnabled()) {
+                cacheKey = answerCache.key(getValueName(), question);
+                String cached = answerCache.get(cacheKey);
+                if (cached != null) {
+                    AgentLog.info(() -> getName() + " answered from cache");
+                    return cached;
+                }
+            }
+
+            String answer;
+            boolean ownRetrieval = ownRetrievalEnabled
+                    || (annIndex != null && annIndex.isReady())
+                    || (dbIndex != null && dbIndex.isReady());
+            if (ownRetrieval && chatClient != null) {
+                answer = assembledRag(question);
+            } else {
+                // One call embeds, searches and generates; its time is only part of the total
+                answer = vectorRAGService.rag(question);
+            }
+            if (cacheKey != null) {
+                answerCache.put(cacheKey, answer);
+            }
+            AgentLog.info("Spring AI Vector RAG Agent successfully processed query via VectorRAGService");
             return answer;
 
         } catch (Exception e) {
-            System.err.println("Error in Spring AI Vector RAG Agent: " + e.getMessage());
-            e.printStackTrace();
+            AgentMetrics.markError();
+            AgentLog.error("Error in Spring AI Vector RAG Agent", e);
             return "I'm having difficulty searching the documents right now. Let me help you with something else instead.";
         }
     }
+
+    private String assembledRag(String question) {
+        long dbStart = System.nanoTime();
+        List<Document> documents = retrieve(question, candidates);
+        AgentMetrics.recordDb(dbStart);
+        if (documents.isEmpty()) {
+            return "I couldn't find anything about that in the documents.";
+        }
+
+        String context = contextAssembler != null
+                ? contextAssembler.assembleDocuments(documents)
+                : String.join("\n\n", documents.stream().map(Document::getContent).toList());
+
+        long llmStart = System.nanoTime();
+        String answer = chatClient.call(new Prompt(
+                "Answer the question using only the context below. If the context does not contain the answer, say so.\n\n"
+                + "Context:\n" + context + "\n\nQuestion: " + question)).getResult().getOutput().getContent();
+        AgentMetrics.recordLlm(llmStart);
+        return answer;
+    }
+
+    /**
+     * The topK nearest chunks. This is the one place where an approximate index
+     * is used; at most one of them is enabled (see VectorIndexManager):
+     * - the in-memory HNSW index (InMemoryVectorIndex) once it has loaded
+     * - the database vector index (VectorIndexManager) once it exists
+     * - otherwise the exact VectorStore search
+     */
+    private List<Document> retrieve(String question, int topK) {
+        List<Document> documents = List.of();
+        if (annIndex != null && annIndex.isReady()) {
+            documents = annIndex.similaritySearch(question, topK);
+        } else if (dbIndex != null && dbIndex.isReady()) {
+            documents = dbIndex.similaritySearch(question, topK);
+        }
+        if (!documents.isEmpty()) {
+            return documents;
+        }
+        return vectorRAGService.getVectorStore().similaritySearch(SearchRequest.query(question).withTopK(topK));
+    }
 }
@@ -0,0 +1,42 @@
+package oracleai.aiholo.agents;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Streaming variant of the {@link Agent} contract.
+ *
+ * Agents that can produce their answer incrementally (for example through a
+ * streaming ChatClient) implement {@link #processQuestionStream(String)} and emit
+ * text chunks as they are generated. Chunks are arbitrary fragments (tokens,
+ * words or sentences); use {@link SentenceChunker} to regroup them into
+ * complete sentences for TTS.
+ *
+ * Existing agents do not need to change: {@link #stream(Agent, String)} adapts
+ * any plain Agent by emitting its complete answer as a single chunk.
+ */
+public interface StreamingAgent extends Agent {
+
+    Flux<String> processQuestionStream(String question);
+
+    /**
+     * Streams the answer of any agent, natively when it implements
+     * StreamingAgent, otherwise as one chunk computed off the caller's thread.
+     */
+    static Flux<String> stream(Agent agent, String question) {
+        if (agent instanceof StreamingAgent streamingAgent) {
+            return streamingAgent.processQuestionStream(question);
+        }
+        return singleChunk(agent, question);
+    }
+
+    /**
+     * Emits the agent's blocking answer as a single chunk.
+     */
+    static Flux<String> singleChunk(Agent agent, String question) {
+        return Mono.fromCallable(() -> agent.processQuestion(question))
+                .flux()
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,47 @@
+package oracleai.aiholo.agents;
+
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.function.Consumer;
+
+/**
+ * Feeds an agent's answer to a sentence consumer (typically the TTS engine)
+ * as soon as each sentence is complete, instead of after the whole answer.
+ *
+ * AgentService calls {@link #answer(Agent, String, Consumer)} with its TTS
+ * method as the sink, so time-to-first-audio becomes the time to generate the
+ * first sentence rather than the full LLM generation time. Agents that do not
+ * implement {@link StreamingAgent} behave as before: their complete answer is
+ * spoken sentence by sentence once it is available.
+ */
+@Component
+public class StreamingAnswerService {
+
+    /**
+     * Streams the answer to the sink one sentence at a time and returns the
+     * complete answer text once generation is finished. The returned text is
+     * the raw streamed output, with its original line breaks, as
+     * {@link Agent#processQuestion(String)} would have returned it; only the
+     * sink sees it split into sentences.
+     */
+    public String answer(Agent agent, String question, Consumer<String> sentenceSink) {
+        StringBuilder full = new StringBuilder();
+        Flux<String> chunks = StreamingAgent.stream(agent, question)
+                .onErrorResume(e -> {
+                    System.err.println("Streaming answer from " + agent.getName() + " failed: " + e.getMessage());
+                    // Keep what was already generated; an answer that never started gets an error reply
+                    return full.length() > 0
+                            ? Flux.empty()
+                            : Flux.just("I'm having difficulty answering right now. Error: " + e.getMessage());
+                })
+                .doOnNext(full::append);
+        try {
+            SentenceChunker.sentences(chunks).doOnNext(sentenceSink).blockLast();
+        } catch (Exception e) {
+            // The sink failed; return the text generated so far
+            System.err.println("Speaking answer from " + agent.getName() + " failed: " + e.getMessage());
+        }
+        return full.toString().trim();
+    }
+}
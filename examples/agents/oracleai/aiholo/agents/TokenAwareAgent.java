@@ -0,0 +1,19 @@
+package oracleai.aiholo.agents;
+
+/**
+ * An Agent that works on the shared {@link QuestionTokens} view instead of
+ * re-tokenizing the raw question string itself.
+ *
+ * AgentService tokenizes each question once for routing and passes the same
+ * instance to {@link #processQuestion(QuestionTokens)}. Callers that only have
+ * the raw string still work through the default {@link #processQuestion(String)}.
+ */
+public interface TokenAwareAgent extends Agent {
+
+    String processQuestion(QuestionTokens question);
+
+    @Override
+    default String processQuestion(String question) {
+        return processQuestion(QuestionTokens.of(question));
+    }
+}
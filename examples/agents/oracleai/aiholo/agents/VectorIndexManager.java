@@ -0,0 +1,259 @@
+package oracleai.aiholo.agents;
+
+import oracle.jdbc.OracleType;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Creates and maintains an Oracle 23ai vector index on the vector store table
+ * (vectorrag.table-name), and runs approximate similarity searches against it.
+ *
+ * Without an index every COSINE_DISTANCE search is an exact scan of the whole
+ * table, which slows down linearly as documents are added. With
+ * VECTORRAG_INDEX_TYPE set, the index is created after startup and whenever
+ * the table is recreated:
+ * - HNSW: in-memory neighbor graph (ORGANIZATION INMEMORY NEIGHBOR GRAPH);
+ *   needs VECTOR_MEMORY_SIZE in the database
+ * - IVF: neighbor partitions (ORGANIZATION NEIGHBOR PARTITIONS), on disk
+ * - AUTO: HNSW, falling back to IVF when it cannot be created
+ *   (e.g. no vector memory pool)
+ * - NONE (default): no index, searches stay exact
+ * An index costs DML time on every insert, so it is off until configured.
+ * The distance in the index follows vectorrag.distance-metric, so the
+ * optimizer can use it for the same VECTOR_DISTANCE expression.
+ *
+ * HNSW indexes absorb inserts themselves. IVF centroids are computed at build
+ * time, so after the table has grown to twice its size at build time an IVF
+ * index is rebuilt with DBMS_VECTOR.REBUILD_INDEX.
+ *
+ * SpringAIVectorRAGAgent retrieves through {@link #similaritySearch(String, int)}
+ * once the index exists. Only one approximate layer runs at a time: with the
+ * in-JVM {@link InMemoryVectorIndex} enabled (VECTORRAG_ANN_INDEX_ENABLED),
+ * no database index is created.
+ *
+ * {@link #similaritySearch(float[], int, boolean)} uses
+ * FETCH APPROX FIRST n ROWS ONLY WITH TARGET ACCURACY VECTORRAG_INDEX_TARGET_ACCURACY
+ * (default 90). A caller can ask for an exact search per query; an approximate
+ * search that returns fewer than topK rows is repeated exactly.
+ */
+@Component
+public class VectorIndexManager {
+
+    private static final Set<String> DISTANCES =
+            Set.of("COSINE", "DOT", "EUCLIDEAN", "EUCLIDEAN_SQUARED", "MANHATTAN", "HAMMING");
+
+    @Autowired(required = false)
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired(required = false)
+    private EmbeddingClient embeddingClient;
+
+    @Autowired(required = false)
+    private InMemoryVectorIndex inMemoryIndex;
+
+    @Value("${vectorrag.table-name:vector_store}")
+    private String tableName;
+
+    @Value("${vectorrag.distance-metric:COSINE}")
+    private String distanceMetric;
+
+    @Value("${VECTORRAG_INDEX_TYPE:NONE}")
+    private String indexType;
+
+    @Value("${VECTORRAG_INDEX_TARGET_ACCURACY:90}")
+    private int targetAccuracy;
+
+    private volatile String activeType;
+    private long rowsAtBuild;
+
+    public boolean isEnabled() {
+        return jdbcTemplate != null && !"NONE".equalsIgnoreCase(indexType)
+                && (inMemoryIndex == null || !inMemoryIndex.isEnabled());
+    }
+
+    /** True once a vector index exists and approximate searches can use it. */
+    public boolean isReady() {
+        return isEnabled() && activeType != null;
+    }
+
+    /** HNSW or IVF once an index exists, otherwise null. */
+    public String activeIndexType() {
+        return activeType;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createOnStartup() {
+        if (!isEnabled()) {
+            if (!"NONE".equalsIgnoreCase(indexType) && inMemoryIndex != null && inMemoryIndex.isEnabled()) {
+                System.out.println("VECTORRAG_INDEX_TYPE ignored: the in-memory vector index is enabled");
+            }
+            return;
+        }
+        Thread.ofVirtual().name("vector-index-manager").start(this::ensureIndex);
+    }
+
+    @EventListener
+    public void onVectorStoreChanged(VectorStoreChangedEvent event) {
+        if (!isEnabled() || !tableName.equalsIgnoreCase(event.tableName())) {
+            return;
+        }
+        // DDL and index rebuilds run in the background, not on the publishing (ingesting) thread
+        if (event.rebuilt()) {
+            activeType = null;
+            Thread.ofVirtual().name("vector-index-manager").start(this::ensureIndex);
+        } else if ("IVF".equals(activeType)) {
+            Thread.ofVirtual().name("vector-index-manager").start(this::rebuildIfGrown);
+        }
+    }
+
+    /**
+     * Creates the index if it does not exist yet. Safe to call repeatedly.
+     */
+    public synchronized void ensureIndex() {
+        String existing = existingIndexType();
+        if (existing != null) {
+            activeType = existing;
+            rowsAtBuild = rowCount();
+            return;
+        }
+        String requested = indexType.trim().toUpperCase(Locale.ROOT);
+        if (!"IVF".equals(requested) && tryCreate("HNSW")) {
+            return;
+        }
+        if (!"HNSW".equals(requested)) {
+            tryCreate("IVF");
+        }
+    }
+
+    /**
+     * Embeds the query with the vector store's EmbeddingClient and runs an
+     * approximate search.
+     */
+    public List<Document> similaritySearch(String query, int topK) {
+        if (embeddingClient == null) {
+            return Collections.emptyList();
+        }
+        List<Double> embedding = embeddingClient.embed(query);
+        float[] vector = new float[embedding.size()];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = embedding.get(i).floatValue();
+        }
+        return similaritySearch(vector, topK, false);
+    }
+
+    /**
+     * Returns the topK nearest documents, nearest first, with the distance in
+     * the "distance" metadata entry. Exact searches scan the table; approximate
+     * ones use the vector index when there is one.
+     */
+    public List<Document> similaritySearch(float[] queryEmbedding, int topK, boolean exact) {
+        if (!exact) {
+            List<Document> approximate = search(queryEmbedding, topK,
+                    "FETCH APPROX FIRST ? ROWS ONLY WITH TARGET ACCURACY " + accuracy());
+            if (approximate.size() >= topK) {
+                return approximate;
+            }
+        }
+        return search(queryEmbedding, topK, "FETCH EXACT FIRST ? ROWS ONLY");
+    }
+
+    private List<Document> search(float[] queryEmbedding, int topK, String fetchClause) {
+        String sql = "SELECT text, metadata, VECTOR_DISTANCE(embeddings, ?, " + distance() + ") AS distance"
+                + " FROM " + tableName + " ORDER BY distance " + fetchClause;
+        return AgentJdbc.query(jdbcTemplate, sql,
+                (rs, rowNum) -> {
+                    Map<String, Object> metadata = InMemoryVectorIndex.parseMetadata(rs.getString(2));
+                    metadata.put("distance", rs.getDouble(3));
+                    return new Document(rs.getString(1), metadata);
+                },
+                new SqlParameterValue(OracleType.VECTOR.getVendorTypeNumber(), queryEmbedding), topK);
+    }
+
+    private boolean tryCreate(String type) {
+        String organization = "HNSW".equals(type)
+                ? "ORGANIZATION INMEMORY NEIGHBOR GRAPH"
+                : "ORGANIZATION NEIGHBOR PARTITIONS";
+        long start = System.currentTimeMillis();
+        try {
+            jdbcTemplate.execute("CREATE VECTOR INDEX " + indexName() + " ON " + tableName + " (embeddings) "
+                    + organization + " DISTANCE " + distance() + " WITH TARGET ACCURACY " + accuracy());
+            activeType = type;
+            rowsAtBuild = rowCount();
+            System.out.println("Created " + type + " vector index " + indexName() + " on " + tableName
+                    + " (" + rowsAtBuild + " rows) in " + (System.currentTimeMillis() - start) + " ms");
+            return true;
+        } catch (Exception e) {
+            System.err.println("Could not create " + type + " vector index on " + tableName + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void rebuildIfGrown() {
+        long rows = rowCount();
+        synchronized (this) {
+            if (rowsAtBuild > 0 && rows < rowsAtBuild * 2) {
+                return;
+            }
+            try {
+                jdbcTemplate.execute("BEGIN DBMS_VECTOR.REBUILD_INDEX('" + indexName() + "'); END;");
+                rowsAtBuild = rows;
+                System.out.println("Rebuilt IVF vector index " + indexName() + " for " + rows + " rows");
+            } catch (Exception e) {
+                System.err.println("Could not rebuild vector index " + indexName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private String existingIndexType() {
+        try {
+            // INDEX_SUBTYPE is INMEMORY_NEIGHBOR_GRAPH_HNSW or NEIGHBOR_PARTITIONS_IVF
+            List<String> subtypes = jdbcTemplate.queryForList(
+                    "SELECT index_subtype FROM user_indexes WHERE index_name = ? AND index_type = 'VECTOR'",
+                    String.class, indexName().toUpperCase(Locale.ROOT));
+            if (subtypes.isEmpty()) {
+                return null;
+            }
+            String subtype = subtypes.get(0);
+            return subtype != null && subtype.toUpperCase(Locale.ROOT).contains("HNSW") ? "HNSW" : "IVF";
+        } catch (Exception e) {
+            System.err.println("Could not look up vector index " + indexName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private long rowCount() {
+        try {
+            Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + tableName, Long.class);
+            return count == null ? 0 : count;
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    private String indexName() {
+        return tableName + "_vidx";
+    }
+
+    /** vectorrag.distance-metric, limited to the metric keywords VECTOR_DISTANCE accepts. */
+    private String distance() {
+        String metric = distanceMetric == null ? "" : distanceMetric.trim().toUpperCase(Locale.ROOT);
+        return DISTANCES.contains(metric) ? metric : "COSINE";
+    }
+
+    private int accuracy() {
+        return Math.max(1, Math.min(100, targetAccuracy));
+    }
+}
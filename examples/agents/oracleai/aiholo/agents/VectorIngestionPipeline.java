@@ -0,0 +1,406 @@
+package oracleai.aiholo.agents;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import oracle.jdbc.OracleType;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingClient;
+import org.springframework.ai.transformer.splitter.TokenTextSplitter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Staged, parallel ingestion of PDF documents into the vector store table
+ * (the table OracleDBVectorStore searches, vectorrag.table-name).
+ *
+ * The stages are connected by bounded queues, so a fast stage blocks instead
+ * of buffering a whole manual in memory (backpressure):
+ *
+ *   parse (page ranges, VECTORRAG_INGEST_PARSE_PARALLELISM threads)
+ *     -> TokenTextSplitter -> content-hash dedup
+ *     -> chunk queue (VECTORRAG_INGEST_QUEUE_CAPACITY)
+ *     -> embed (batches of VECTORRAG_EMBED_BATCH_SIZE, VECTORRAG_EMBED_PARALLELISM concurrent requests)
+ *     -> insert queue
+ *     -> JDBC batch insert (VECTORRAG_INSERT_BATCH_SIZE rows per executeBatch, VECTOR bound as float[])
+ *
+ * Each PDF is cut into page ranges of PAGES_PER_TASK pages that are extracted
+ * in parallel, each with its own PDDocument (PDFBox documents are not thread
+ * safe). With enough parse threads, ingest throughput is bounded by the
+ * embedding provider.
+ *
+ * Every chunk carries the SHA-256 of its text as "content_hash" in its
+ * metadata, next to "file_name", "page_number" and "chunk_index" (its position
+ * within the page). Rows are inserted in no particular order, so readers that
+ * rebuild a document order by page_number and chunk_index rather than by id.
+ * Before parsing, the hashes already stored for the same source files are
+ * loaded, and chunks that are already present in the same file are skipped;
+ * identical text in two different files is stored for both. An
+ * interrupted or failed upload can therefore be resumed by ingesting the same
+ * files again. Every insert batch is committed on its own, so the rows written
+ * before a failure stay in the table.
+ *
+ * A {@link VectorStoreChangedEvent} is published after rows were inserted.
+ */
+@Component
+public class VectorIngestionPipeline {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int PAGES_PER_TASK = 8;
+    private static final long POLL_MILLIS = 50;
+
+    /** One chunk of text with its metadata, and its embedding once computed. */
+    record Chunk(String text, Map<String, Object> metadata, float[] embedding) {
+
+        Chunk withEmbedding(float[] vector) {
+            return new Chunk(text, metadata, vector);
+        }
+    }
+
+    /** Outcome of one ingest call. */
+    public record Result(int files, int pages, int chunks, int skipped, int inserted, long millis) {
+    }
+
+    @Autowired(required = false)
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired(required = false)
+    private EmbeddingClient embeddingClient;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${vectorrag.table-name:vector_store}")
+    private String tableName;
+
+    @Value("${VECTORRAG_INGEST_PARSE_PARALLELISM:4}")
+    private int parseParallelism;
+
+    @Value("${VECTORRAG_EMBED_BATCH_SIZE:64}")
+    private int embedBatchSize;
+
+    @Value("${VECTORRAG_EMBED_PARALLELISM:2}")
+    private int embedParallelism;
+
+    @Value("${VECTORRAG_INSERT_BATCH_SIZE:200}")
+    private int insertBatchSize;
+
+    @Value("${VECTORRAG_INGEST_QUEUE_CAPACITY:512}")
+    private int queueCapacity;
+
+    public boolean isConfigured() {
+        return jdbcTemplate != null && embeddingClient != null;
+    }
+
+    /**
+     * Ingests the given PDF files and blocks until every chunk is stored or the
+     * first failure. Chunks already stored for these files are skipped.
+     *
+     * @throws IllegalStateException if parsing, embedding or inserting fails
+     */
+    public Result ingest(List<Path> pdfs) {
+        if (!isConfigured()) {
+            throw new IllegalStateException("Vector ingestion needs a DataSource and an EmbeddingClient");
+        }
+        long start = System.currentTimeMillis();
+        Run run = new Run(existingHashes(pdfs));
+
+        ExecutorService parsers = Executors.newFixedThreadPool(Math.max(1, parseParallelism));
+        ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            List<Future<?>> embedders = new ArrayList<>();
+            for (int i = 0; i < Math.max(1, embedParallelism); i++) {
+                embedders.add(workers.submit(() -> run.guard(() -> embedLoop(run))));
+            }
+            Future<?> inserter = workers.submit(() -> run.guard(() -> insertLoop(run)));
+
+            List<Future<?>> parseTasks = new ArrayList<>();
+            for (Path pdf : pdfs) {
+                int pageCount = pageCount(pdf);
+                run.pages.addAndGet(pageCount);
+                for (int first = 1; first <= pageCount; first += PAGES_PER_TASK) {
+                    int from = first;
+                    int to = Math.min(pageCount, first + PAGES_PER_TASK - 1);
+                    parseTasks.add(parsers.submit(() -> run.guard(() -> parse(run, pdf, from, to))));
+                }
+            }
+            awaitAll(parseTasks);
+            run.parsingDone = true;
+            awaitAll(embedders);
+            run.embeddingDone = true;
+            awaitAll(List.of(inserter));
+        } finally {
+            parsers.shutdownNow();
+            workers.shutdownNow();
+            if (run.inserted.get() > 0) {
+                eventPublisher.publishEvent(new VectorStoreChangedEvent(tableName, false));
+            }
+        }
+
+        Result result = new Result(pdfs.size(), run.pages.get(), run.chunks.get(), run.skipped.get(),
+                run.inserted.get(), System.currentTimeMillis() - start);
+        if (run.failure.get() != null) {
+            throw new IllegalStateException("Vector ingestion stopped after " + result.inserted()
+                    + " chunks; ingest the same files again to resume", run.failure.get());
+        }
+        System.out.println("Ingested " + result.files() + " files (" + result.pages() + " pages) into " + tableName
+                + ": " + result.inserted() + " chunks inserted, " + result.skipped() + " already present, in "
+                + result.millis() + " ms");
+        return result;
+    }
+
+    /** Shared state of one ingest call. */
+    private final class Run {
+        final Map<String, Set<String>> seenHashes;
+        final BlockingQueue<Chunk> chunkQueue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        final BlockingQueue<List<Chunk>> insertQueue =
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity / Math.max(1, embedBatchSize)) + 1);
+        final AtomicInteger pages = new AtomicInteger();
+        final AtomicInteger chunks = new AtomicInteger();
+        final AtomicInteger skipped = new AtomicInteger();
+        final AtomicInteger inserted = new AtomicInteger();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        volatile boolean parsingDone;
+        volatile boolean embeddingDone;
+
+        Run(Map<String, Set<String>> existing) {
+            this.seenHashes = existing;
+        }
+
+        /** True if the chunk is new for its file, false if it was stored or queued before. */
+        boolean firstSeen(String source, String hash) {
+            return seenHashes.computeIfAbsent(source, s -> ConcurrentHashMap.newKeySet()).add(hash);
+        }
+
+        boolean failed() {
+            return failure.get() != null;
+        }
+
+        /** Runs a stage task, recording the first failure so every stage stops. */
+        void guard(StageTask task) {
+            try {
+                if (!failed()) {
+                    task.run();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, e);
+            } catch (Exception e) {
+                failure.compareAndSet(null, e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface StageTask {
+        void run() throws Exception;
+    }
+
+    private void parse(Run run, Path pdf, int fromPage, int toPage) throws IOException, InterruptedException {
+        String source = pdf.getFileName().toString();
+        List<Document> pages = new ArrayList<>(toPage - fromPage + 1);
+        try (PDDocument document = Loader.loadPDF(pdf.toFile())) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            for (int page = fromPage; page <= toPage; page++) {
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                String text = stripper.getText(document);
+                if (!text.isBlank()) {
+                    Map<String, Object> metadata = new HashMap<>();
+                    metadata.put("file_name", source);
+                    metadata.put("page_number", page);
+                    pages.add(new Document(text, metadata));
+                }
+            }
+        }
+
+        Map<Object, Integer> chunksPerPage = new HashMap<>();
+        for (Document split : new TokenTextSplitter().apply(pages)) {
+            String text = split.getContent();
+            // Numbered before the dedup check, so a resumed upload numbers chunks the same way
+            int chunkIndex = chunksPerPage.merge(split.getMetadata().get("page_number"), 1, Integer::sum) - 1;
+            String hash = DocumentSummarizer.sha256(text);
+            if (!run.firstSeen(source, hash)) {
+                run.skipped.incrementAndGet();
+                continue;
+            }
+            Map<String, Object> metadata = new HashMap<>(split.getMetadata());
+            metadata.put("chunk_index", chunkIndex);
+            metadata.put("content_hash", hash);
+            run.chunks.incrementAndGet();
+            while (!run.chunkQueue.offer(new Chunk(text, metadata, null), POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (run.failed()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void embedLoop(Run run) throws InterruptedException {
+        int batchSize = Math.max(1, embedBatchSize);
+        while (!run.failed()) {
+            Chunk first = run.chunkQueue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            if (first == null) {
+                if (run.parsingDone && run.chunkQueue.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            List<Chunk> batch = new ArrayList<>(batchSize);
+            batch.add(first);
+            run.chunkQueue.drainTo(batch, batchSize - 1);
+
+            List<String> texts = new ArrayList<>(batch.size());
+            for (Chunk chunk : batch) {
+                texts.add(chunk.text());
+            }
+            List<List<Double>> vectors = embeddingClient.embed(texts);
+            if (vectors.size() != batch.size()) {
+                throw new IllegalStateException("Embedding provider returned " + vectors.size()
+                        + " vectors for " + batch.size() + " chunks");
+            }
+            List<Chunk> embedded = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                embedded.add(batch.get(i).withEmbedding(toFloats(vectors.get(i))));
+            }
+            while (!run.insertQueue.offer(embedded, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (run.failed()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void insertLoop(Run run) throws InterruptedException {
+        int batchSize = Math.max(1, insertBatchSize);
+        List<Chunk> pending = new ArrayList<>(batchSize);
+        while (!run.failed()) {
+            List<Chunk> embedded = run.insertQueue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            if (embedded != null) {
+                pending.addAll(embedded);
+                if (pending.size() >= batchSize) {
+                    insertBatch(pending);
+                    run.inserted.addAndGet(pending.size());
+                    pending.clear();
+                }
+            } else if (run.embeddingDone && run.insertQueue.isEmpty()) {
+                break;
+            }
+        }
+        if (!pending.isEmpty() && !run.failed()) {
+            insertBatch(pending);
+            run.inserted.addAndGet(pending.size());
+        }
+    }
+
+    private void insertBatch(List<Chunk> rows) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO " + tableName + " (text, embeddings, metadata) VALUES (?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Chunk chunk = rows.get(i);
+                        ps.setString(1, chunk.text());
+                        ps.setObject(2, chunk.embedding(), OracleType.VECTOR);
+                        ps.setString(3, toJson(chunk.metadata()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                });
+    }
+
+    /**
+     * Content hashes already stored for the given source files, so a repeated
+     * upload only embeds and inserts chunks that are missing.
+     */
+    private Map<String, Set<String>> existingHashes(List<Path> pdfs) {
+        Map<String, Set<String>> hashesByFile = new ConcurrentHashMap<>();
+        for (Path pdf : pdfs) {
+            Set<String> hashes = hashesByFile.computeIfAbsent(pdf.getFileName().toString(),
+                    name -> ConcurrentHashMap.newKeySet());
+            try {
+                jdbcTemplate.query(
+                        "SELECT JSON_VALUE(metadata, '$.content_hash') FROM " + tableName
+                                + " WHERE JSON_VALUE(metadata, '$.file_name') = ?",
+                        rs -> {
+                            String hash = rs.getString(1);
+                            if (hash != null) {
+                                hashes.add(hash);
+                            }
+                        },
+                        pdf.getFileName().toString());
+            } catch (Exception e) {
+                // A missing table is created by OracleDBVectorStore; nothing to resume from
+                System.err.println("Could not read existing chunks of " + pdf.getFileName() + ": " + e.getMessage());
+            }
+        }
+        return hashesByFile;
+    }
+
+    private static int pageCount(Path pdf) {
+        File file = pdf.toFile();
+        try (PDDocument document = Loader.loadPDF(file)) {
+            return document.getNumberOfPages();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read PDF " + file, e);
+        }
+    }
+
+    private static void awaitAll(List<Future<?>> futures) {
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Vector ingestion interrupted", e);
+            } catch (Exception e) {
+                // Stage failures are recorded by Run.guard
+            }
+        }
+    }
+
+    private static float[] toFloats(List<Double> vector) {
+        float[] floats = new float[vector.size()];
+        for (int i = 0; i < floats.length; i++) {
+            floats[i] = vector.get(i).floatValue();
+        }
+        return floats;
+    }
+
+    private static String toJson(Map<String, Object> metadata) {
+        try {
+            return MAPPER.writeValueAsString(metadata);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package oracleai.aiholo.agents;
+
+/**
+ * Application event published after documents are added to (or the table is
+ * recreated for) the vector store, for example by PDF ingestion through
+ * /vectorrag.
+ *
+ * Components that derive data from the vector store listen for it with
+ * {@code @EventListener}: answer caches drop stale answers and in-memory
+ * indexes pick up the new rows.
+ *
+ * @param tableName the vector store table that changed
+ * @param rebuilt   true when the table was dropped or truncated rather than appended to
+ */
+public record VectorStoreChangedEvent(String tableName, boolean rebuilt) {
+}
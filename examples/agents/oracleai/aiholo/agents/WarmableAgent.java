@@ -0,0 +1,19 @@
+package oracleai.aiholo.agents;
+
+/**
+ * Optional startup hook an Agent can implement next to {@link Agent}.
+ *
+ * {@link AgentWarmup} calls {@link #warmUp()} once for every enabled agent
+ * before the application reports itself ready, so lazily created stores,
+ * database cursors, in-database models and HTTP clients are initialized
+ * before the first visitor asks a question.
+ */
+public interface WarmableAgent {
+
+    /**
+     * Initializes whatever the first real question would otherwise initialize,
+     * typically with a small synthetic query against each backend. Must not
+     * change data or play media. Failures are logged and do not stop startup.
+     */
+    void warmUp() throws Exception;
+}
@@ -0,0 +1,26 @@
+package oracleai.aiholo.agents;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs all benchmarks (or those matching the first argument) with the GC
+ * profiler, so every result reports throughput together with the allocation
+ * rate (gc.alloc.rate.norm = bytes allocated per operation).
+ */
+public final class AiHoloBenchmarks {
+
+    private AiHoloBenchmarks() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : AiHoloBenchmarks.class.getPackageName() + ".*Benchmark")
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,274 @@
+package oracleai.aiholo.agents;
+
+import org.springframework.ai.chat.ChatClient;
+import org.springframework.ai.chat.ChatResponse;
+import org.springframework.ai.chat.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.logging.Logger;
+
+/**
+ * Offline stand-ins for the beans the agents normally get from Spring, so the
+ * benchmarks run without a database or LLM.
+ */
+final class BenchmarkStubs {
+
+    private BenchmarkStubs() {
+    }
+
+    /** Agent with generated keyword sets and a constant answer. */
+    static final class StubAgent implements Agent {
+        private final String valueName;
+        private final String[][] keywords;
+
+        StubAgent(String valueName, String[][] keywords) {
+            this.valueName = valueName;
+            this.keywords = keywords;
+        }
+
+        @Override
+        public String getName() {
+            return "Stub " + valueName;
+        }
+
+        @Override
+        public String getValueName() {
+            return valueName;
+        }
+
+        @Override
+        public String getAgentDescription() {
+            return "Answers questions about " + String.join(", ", keywords[0]) + ".";
+        }
+
+        @Override
+        public String[][] getKeywords() {
+            return keywords;
+        }
+
+        @Override
+        public String processQuestion(String question) {
+            return valueName;
+        }
+
+        @Override
+        public boolean isConfigured() {
+            return true;
+        }
+    }
+
+    /** JdbcTemplate that returns canned rows for every query and never touches the DataSource. */
+    static final class StubJdbcTemplate extends JdbcTemplate {
+        private final List<Map<String, Object>> rows;
+
+        StubJdbcTemplate(List<Map<String, Object>> rows) {
+            super(new StubDataSource());
+            this.rows = rows;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            return (List<T>) rows;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T queryForObject(String sql, Class<T> requiredType) {
+            return (T) (rows.isEmpty() ? null : rows.get(0).values().iterator().next());
+        }
+    }
+
+    /**
+     * JdbcTemplate that answers the SchemaCatalog dictionary queries (schema
+     * version, tables, columns) from the given tables, so the catalog is filled
+     * through {@link SchemaCatalog#refreshIfChanged()} as in production.
+     */
+    static final class CatalogJdbcTemplate extends JdbcTemplate {
+        private final List<SchemaCatalog.Table> tables;
+
+        CatalogJdbcTemplate(List<SchemaCatalog.Table> tables) {
+            super(new StubDataSource());
+            this.tables = tables;
+        }
+
+        @Override
+        public <T> T queryForObject(String sql, Class<T> requiredType) {
+            return requiredType.cast("bench:" + tables.size());
+        }
+
+        @Override
+        public void query(String sql, RowCallbackHandler handler) {
+            List<Object[]> rows = new ArrayList<>();
+            for (SchemaCatalog.Table table : tables) {
+                if (!sql.contains("user_tab_columns")) {
+                    rows.add(new Object[] {table.name(), table.comment()});
+                    continue;
+                }
+                for (SchemaCatalog.Column column : table.columns()) {
+                    rows.add(new Object[] {table.name(), column.name(), column.dataType(),
+                            column.nullable() ? "Y" : "N", column.comment()});
+                }
+            }
+            try {
+                for (Object[] row : rows) {
+                    handler.processRow(resultSet(row));
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        /** ResultSet positioned on one row; only getString(int) is supported. */
+        private static ResultSet resultSet(Object[] row) {
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                    new Class<?>[] {ResultSet.class}, (proxy, method, args) -> {
+                        if (method.getName().equals("getString") && args.length == 1 && args[0] instanceof Integer i) {
+                            return row[i - 1];
+                        }
+                        throw new UnsupportedOperationException("ResultSet." + method.getName());
+                    });
+        }
+    }
+
+    /** DataSource that refuses connections; only present to satisfy JdbcTemplate. */
+    static final class StubDataSource implements DataSource {
+        @Override
+        public Connection getConnection() throws SQLException {
+            throw new SQLException("StubDataSource has no connections");
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+
+        @Override
+        public PrintWriter getLogWriter() {
+            return null;
+        }
+
+        @Override
+        public void setLogWriter(PrintWriter out) {
+        }
+
+        @Override
+        public void setLoginTimeout(int seconds) {
+        }
+
+        @Override
+        public int getLoginTimeout() {
+            return 0;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            throw new SQLException("Not a wrapper");
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) {
+            return false;
+        }
+    }
+
+    /** ChatClient that answers every prompt with the same text. */
+    static final class StubChatClient implements ChatClient {
+        private final ChatResponse response;
+
+        StubChatClient(String answer) {
+            this.response = new ChatResponse(List.of(new Generation(answer)));
+        }
+
+        @Override
+        public ChatResponse call(Prompt prompt) {
+            return response;
+        }
+    }
+
+    /** Sets a private (usually @Autowired) field, as Spring would. */
+    static void inject(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot inject " + fieldName + " into " + target.getClass(), e);
+        }
+    }
+
+    static final String[] VOCABULARY = {
+        "ship", "equipment", "graph", "summary", "document", "vector", "search", "weather", "image", "vision",
+        "sign", "mirror", "twin", "finance", "game", "database", "chat", "tool", "langchain", "oracle",
+        "report", "sales", "order", "customer", "invoice", "engine", "radar", "crew", "port", "route",
+        "map", "photo", "video", "music", "story", "news", "stock", "price", "ticket", "flight"
+    };
+
+    /**
+     * Generates {@code count} agents with two or three keyword sets of one to
+     * three vocabulary words each. Deterministic for a given count.
+     */
+    static List<Agent> agents(int count) {
+        Random random = new Random(42);
+        List<Agent> agents = new ArrayList<>(count);
+        for (int a = 0; a < count; a++) {
+            String[][] sets = new String[2 + random.nextInt(2)][];
+            for (int s = 0; s < sets.length; s++) {
+                sets[s] = new String[1 + random.nextInt(3)];
+                for (int k = 0; k < sets[s].length; k++) {
+                    sets[s][k] = VOCABULARY[random.nextInt(VOCABULARY.length)] + (a % 7 == 0 ? "" : a);
+                }
+            }
+            agents.add(new StubAgent("stubagent" + a, sets));
+        }
+        return agents;
+    }
+
+    /** Visitor-style questions, roughly half of which mention vocabulary words. */
+    static String[] questions(int count) {
+        Random random = new Random(7);
+        String[] questions = new String[count];
+        for (int i = 0; i < count; i++) {
+            StringBuilder sb = new StringBuilder("Can you tell me about the");
+            for (int w = 0; w < 3 + random.nextInt(4); w++) {
+                sb.append(' ');
+                sb.append(random.nextBoolean() ? VOCABULARY[random.nextInt(VOCABULARY.length)] : "things");
+            }
+            questions[i] = sb.append(" please?").toString();
+        }
+        return questions;
+    }
+
+    static List<Map<String, Object>> graphRows(int count) {
+        List<Map<String, Object>> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("SOURCE", "USS Example " + i);
+            row.put("REL", "HAS_EQUIPMENT");
+            row.put("TARGET", "Radar array " + (i * 31 % 97));
+            rows.add(row);
+        }
+        return rows;
+    }
+}
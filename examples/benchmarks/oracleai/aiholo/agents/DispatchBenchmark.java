@@ -0,0 +1,128 @@
+package oracleai.aiholo.agents;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatch overhead of the AgentService pipeline with stub backends:
+ * tokenize + route + instrumented invoke, the async executor hand-off, and
+ * full agent calls against a stub ChatClient / JdbcTemplate.
+ *
+ * registry=none measures the no-op metrics path, registry=simple the cost of
+ * recording into a real Micrometer registry.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DispatchBenchmark {
+
+    @Param({"none", "simple"})
+    String registry;
+
+    private KeywordRouter router;
+    private AgentMetrics metrics;
+    private AsyncAgentExecutor executor;
+    private Agent fallback;
+    private SpringAIChatAgent chatAgent;
+    private DBPropertyGraphAgent graphAgent;
+    private String[] questions;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        new AgentLog(false);
+
+        metrics = new AgentMetrics();
+        if ("simple".equals(registry)) {
+            BenchmarkStubs.inject(metrics, "registry", new SimpleMeterRegistry());
+        }
+
+        List<Agent> agents = BenchmarkStubs.agents(50);
+        router = new KeywordRouter();
+        BenchmarkStubs.inject(router, "metrics", metrics);
+        router.compile(agents);
+        fallback = new BenchmarkStubs.StubAgent("generalagent", new String[0][]);
+        executor = new AsyncAgentExecutor(30000, "", metrics);
+
+        GroundingContextAssembler assembler = new GroundingContextAssembler();
+        BenchmarkStubs.inject(assembler, "providers", List.of(new GroundingContextProvider() {
+            @Override
+            public String getName() {
+                return "stub-version";
+            }
+
+            @Override
+            public boolean isStatic() {
+                return true;
+            }
+
+            @Override
+            public String context(QuestionTokens question) {
+                return "Database: Oracle 23.5.0.24.07";
+            }
+        }));
+        assembler.init();
+        assembler.refreshStaticContext();
+
+        chatAgent = new SpringAIChatAgent();
+        BenchmarkStubs.inject(chatAgent, "chatClient", new BenchmarkStubs.StubChatClient("Oracle Database 23ai."));
+        BenchmarkStubs.inject(chatAgent, "groundingContext", assembler);
+
+        graphAgent = new DBPropertyGraphAgent();
+        BenchmarkStubs.inject(graphAgent, "jdbcTemplate",
+                new BenchmarkStubs.StubJdbcTemplate(BenchmarkStubs.graphRows(10)));
+
+        questions = BenchmarkStubs.questions(1024);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    private String nextQuestion() {
+        String question = questions[next];
+        next = (next + 1) & (questions.length - 1);
+        return question;
+    }
+
+    @Benchmark
+    public String routeAndInvoke() {
+        String question = nextQuestion();
+        Agent agent = router.route(QuestionTokens.of(question));
+        return metrics.invoke(agent != null ? agent : fallback, question);
+    }
+
+    @Benchmark
+    public String asyncExecutorHandOff() {
+        return executor.processQuestionAsync(fallback, nextQuestion(), null).join();
+    }
+
+    @Benchmark
+    public String springAIChatAgent() {
+        return metrics.invoke(chatAgent, nextQuestion());
+    }
+
+    @Benchmark
+    public String dbPropertyGraphAgent() {
+        return metrics.invoke(graphAgent, "show graph query related to USS Example");
+    }
+}
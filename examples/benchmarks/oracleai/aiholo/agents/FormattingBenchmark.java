@@ -0,0 +1,105 @@
+package oracleai.aiholo.agents;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result rendering in DBPropertyGraphAgent (GRAPH_TABLE rows and projection
+ * edges) and Langchain4jToolAgent (table list, table description, and the
+ * catalog-backed dispatch without an LLM).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormattingBenchmark {
+
+    @Param({"10", "100"})
+    int rows;
+
+    private List<Map<String, Object>> graphRows;
+    private List<PropertyGraphProjection.Edge> edges;
+    private List<SchemaCatalog.Table> tables;
+    private SchemaCatalog.Table describedTable;
+    private Langchain4jToolAgent toolAgent;
+    private QuestionTokens describeQuestion;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        new AgentLog(false);
+        graphRows = BenchmarkStubs.graphRows(rows);
+
+        edges = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            edges.add(new PropertyGraphProjection.Edge("USS Example " + (i / 5), "HAS_EQUIPMENT",
+                    "Radar array " + i, 1 + i % 2));
+        }
+
+        tables = new ArrayList<>(rows);
+        for (int t = 0; t < rows; t++) {
+            List<SchemaCatalog.Column> columns = new ArrayList<>();
+            for (int c = 0; c < 12; c++) {
+                columns.add(new SchemaCatalog.Column("COLUMN_" + c, c % 3 == 0 ? "NUMBER" : "VARCHAR2",
+                        c != 0, c % 4 == 0 ? "Column " + c + " of table " + t : null));
+            }
+            SchemaCatalog.Table table = new SchemaCatalog.Table("TABLE_" + t, "Table number " + t, List.copyOf(columns));
+            tables.add(table);
+        }
+        describedTable = tables.get(0);
+
+        SchemaCatalog catalog = new SchemaCatalog();
+        BenchmarkStubs.inject(catalog, "jdbcTemplate", new BenchmarkStubs.CatalogJdbcTemplate(tables));
+        BenchmarkStubs.inject(catalog, "eventPublisher", (ApplicationEventPublisher) event -> { });
+        catalog.refreshIfChanged();
+        if (catalog.snapshot().tables().size() != rows) {
+            throw new IllegalStateException("Schema catalog did not load the stub tables");
+        }
+        toolAgent = new Langchain4jToolAgent();
+        BenchmarkStubs.inject(toolAgent, "schemaCatalog", catalog);
+        BenchmarkStubs.inject(toolAgent, "jdbcTemplate", new BenchmarkStubs.StubJdbcTemplate(List.of()));
+        describeQuestion = QuestionTokens.of("Langchain tool: describe table " + (rows - 1) + " please");
+    }
+
+    @Benchmark
+    public String propertyGraphRows() {
+        return DBPropertyGraphAgent.formatRows(graphRows);
+    }
+
+    @Benchmark
+    public String propertyGraphProjectionEdges() {
+        return DBPropertyGraphAgent.formatEdges(edges);
+    }
+
+    @Benchmark
+    public String toolAgentTableList() {
+        return DatabaseTools.formatTables(tables);
+    }
+
+    @Benchmark
+    public String toolAgentDescribeTable() {
+        return DatabaseTools.formatTable(describedTable);
+    }
+
+    @Benchmark
+    public String toolAgentDispatch() {
+        return toolAgent.processQuestion(describeQuestion);
+    }
+}
@@ -0,0 +1,78 @@
+package oracleai.aiholo.agents;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyword routing across N agents: the compiled {@link KeywordRouter} against
+ * the per-agent substring scan it replaced.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeywordRouterBenchmark {
+
+    @Param({"10", "50", "200"})
+    int agentCount;
+
+    private List<Agent> agents;
+    private KeywordRouter router;
+    private String[] questions;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        agents = BenchmarkStubs.agents(agentCount);
+        router = new KeywordRouter();
+        router.compile(agents);
+        questions = BenchmarkStubs.questions(1024);
+    }
+
+    private String nextQuestion() {
+        String question = questions[next];
+        next = (next + 1) & (questions.length - 1);
+        return question;
+    }
+
+    @Benchmark
+    public Agent compiledRouter() {
+        return router.route(QuestionTokens.of(nextQuestion()));
+    }
+
+    @Benchmark
+    public Agent linearScan() {
+        String lower = nextQuestion().toLowerCase(Locale.ROOT);
+        for (Agent agent : agents) {
+            for (String[] keywordSet : agent.getKeywords()) {
+                boolean all = true;
+                for (String keyword : keywordSet) {
+                    if (!lower.contains(keyword)) {
+                        all = false;
+                        break;
+                    }
+                }
+                if (all) {
+                    return agent;
+                }
+            }
+        }
+        return null;
+    }
+}
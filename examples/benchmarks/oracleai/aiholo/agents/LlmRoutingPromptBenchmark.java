@@ -0,0 +1,71 @@
+package oracleai.aiholo.agents;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prompt construction for AGENT_ROUTING_MODE=llm: the precompiled
+ * {@link LlmRoutingPrompt} against rebuilding the agent catalogue for every
+ * question, plus parsing the LLM reply.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LlmRoutingPromptBenchmark {
+
+    @Param({"10", "50", "200"})
+    int agentCount;
+
+    private List<Agent> agents;
+    private LlmRoutingPrompt prompt;
+    private String question;
+    private String reply;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        agents = BenchmarkStubs.agents(agentCount);
+        prompt = LlmRoutingPrompt.compile(agents);
+        question = BenchmarkStubs.questions(1)[0];
+        reply = "The best agent is " + (agentCount / 2) + ".";
+    }
+
+    @Benchmark
+    public String compiledPrompt() {
+        return prompt.forQuestion(question);
+    }
+
+    @Benchmark
+    public String rebuiltPrompt() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("You route visitor questions to the agent best able to answer them.\n")
+          .append("Reply with only the number of the best agent, or \"none\" if no agent fits.\n\nAgents:\n");
+        for (int i = 0; i < agents.size(); i++) {
+            Agent agent = agents.get(i);
+            sb.append(i + 1).append(". ").append(agent.getName()).append(": ")
+              .append(agent.getAgentDescription()).append('\n');
+        }
+        sb.append("\nQuestion: ").append(question).append('\n');
+        return sb.toString();
+    }
+
+    @Benchmark
+    public Agent parseChoice() {
+        return prompt.parseChoice(reply);
+    }
+}
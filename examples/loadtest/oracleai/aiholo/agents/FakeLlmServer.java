@@ -0,0 +1,232 @@
+package oracleai.aiholo.agents;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+
+/**
+ * Local stand-in for the OpenAI-compatible API and Ollama, on the JDK HTTP
+ * server. Every request waits for a sample of the configured latency and then
+ * returns a canned answer or a deterministic pseudo-random embedding.
+ *
+ * Endpoints:
+ * - POST /v1/chat/completions (also "stream": true, as server-sent events)
+ * - POST /v1/embeddings
+ * - POST /api/generate, /api/chat, /api/embeddings, /api/embed (Ollama)
+ *
+ * Point the application at it with OPENAI_BASE_URL=http://localhost:PORT and
+ * OLLAMA_URL=http://localhost:PORT. Runs standalone via {@link #main(String[])}.
+ */
+public final class FakeLlmServer implements AutoCloseable {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final int STREAM_CHUNK_WORDS = 3;
+
+    private final HttpServer server;
+    private final LatencyDistribution latency;
+    private final LatencyDistribution embeddingLatency;
+    private final int dimensions;
+
+    FakeLlmServer(int port, LatencyDistribution latency, LatencyDistribution embeddingLatency, int dimensions)
+            throws IOException {
+        this.latency = latency;
+        this.embeddingLatency = embeddingLatency;
+        this.dimensions = dimensions;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 512);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/v1/chat/completions", this::openAiChat);
+        server.createContext("/v1/embeddings", this::openAiEmbeddings);
+        server.createContext("/api/generate", this::ollamaGenerate);
+        server.createContext("/api/chat", this::ollamaChat);
+        server.createContext("/api/embeddings", this::ollamaEmbeddings);
+        server.createContext("/api/embed", this::ollamaEmbed);
+    }
+
+    FakeLlmServer start() {
+        server.start();
+        return this;
+    }
+
+    int port() {
+        return server.getAddress().getPort();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + port();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void openAiChat(HttpExchange exchange) throws IOException {
+        JsonNode request = readBody(exchange);
+        String answer = answerFor(lastUserMessage(request.path("messages")));
+        latency.sleep();
+        if (request.path("stream").asBoolean(false)) {
+            streamOpenAi(exchange, answer);
+            return;
+        }
+        ObjectNode response = JSON.createObjectNode();
+        response.put("id", "chatcmpl-fake").put("object", "chat.completion").put("created", 0).put("model", "fake");
+        ObjectNode choice = response.putArray("choices").addObject();
+        choice.put("index", 0).put("finish_reason", "stop");
+        choice.putObject("message").put("role", "assistant").put("content", answer);
+        response.putObject("usage").put("prompt_tokens", 0).put("completion_tokens", 0).put("total_tokens", 0);
+        writeJson(exchange, response);
+    }
+
+    private void streamOpenAi(HttpExchange exchange, String answer) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            String[] words = answer.split(" ");
+            for (int i = 0; i < words.length; i += STREAM_CHUNK_WORDS) {
+                StringBuilder piece = new StringBuilder();
+                for (int w = i; w < Math.min(words.length, i + STREAM_CHUNK_WORDS); w++) {
+                    piece.append(w == 0 ? "" : " ").append(words[w]);
+                }
+                ObjectNode chunk = JSON.createObjectNode();
+                chunk.put("id", "chatcmpl-fake").put("object", "chat.completion.chunk").put("created", 0).put("model", "fake");
+                ObjectNode choice = chunk.putArray("choices").addObject();
+                choice.put("index", 0);
+                choice.putObject("delta").put("content", piece.toString());
+                choice.putNull("finish_reason");
+                out.write(("data: " + JSON.writeValueAsString(chunk) + "\n\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+            out.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void openAiEmbeddings(HttpExchange exchange) throws IOException {
+        JsonNode input = readBody(exchange).path("input");
+        embeddingLatency.sleep();
+        ObjectNode response = JSON.createObjectNode();
+        response.put("object", "list").put("model", "fake");
+        ArrayNode data = response.putArray("data");
+        if (input.isArray()) {
+            for (int i = 0; i < input.size(); i++) {
+                addEmbedding(data.addObject().put("object", "embedding").put("index", i)
+                        .putArray("embedding"), input.get(i).asText());
+            }
+        } else {
+            addEmbedding(data.addObject().put("object", "embedding").put("index", 0)
+                    .putArray("embedding"), input.asText());
+        }
+        response.putObject("usage").put("prompt_tokens", 0).put("total_tokens", 0);
+        writeJson(exchange, response);
+    }
+
+    private void ollamaGenerate(HttpExchange exchange) throws IOException {
+        JsonNode request = readBody(exchange);
+        latency.sleep();
+        ObjectNode response = JSON.createObjectNode();
+        response.put("model", request.path("model").asText("fake"))
+                .put("response", answerFor(request.path("prompt").asText()))
+                .put("done", true);
+        writeJson(exchange, response);
+    }
+
+    private void ollamaChat(HttpExchange exchange) throws IOException {
+        JsonNode request = readBody(exchange);
+        latency.sleep();
+        ObjectNode response = JSON.createObjectNode();
+        response.put("model", request.path("model").asText("fake")).put("done", true);
+        response.putObject("message").put("role", "assistant")
+                .put("content", answerFor(lastUserMessage(request.path("messages"))));
+        writeJson(exchange, response);
+    }
+
+    private void ollamaEmbeddings(HttpExchange exchange) throws IOException {
+        JsonNode request = readBody(exchange);
+        embeddingLatency.sleep();
+        ObjectNode response = JSON.createObjectNode();
+        addEmbedding(response.putArray("embedding"), request.path("prompt").asText());
+        writeJson(exchange, response);
+    }
+
+    private void ollamaEmbed(HttpExchange exchange) throws IOException {
+        JsonNode input = readBody(exchange).path("input");
+        embeddingLatency.sleep();
+        ObjectNode response = JSON.createObjectNode();
+        ArrayNode embeddings = response.putArray("embeddings");
+        if (input.isArray()) {
+            for (JsonNode text : input) {
+                addEmbedding(embeddings.addArray(), text.asText());
+            }
+        } else {
+            addEmbedding(embeddings.addArray(), input.asText());
+        }
+        writeJson(exchange, response);
+    }
+
+    /** Deterministic unit vector per text, so identical texts embed identically (and hit caches). */
+    private void addEmbedding(ArrayNode target, String text) {
+        SplittableRandom random = new SplittableRandom(text.hashCode());
+        double[] v = new double[dimensions];
+        double norm = 0;
+        for (int i = 0; i < dimensions; i++) {
+            v[i] = random.nextDouble(-1, 1);
+            norm += v[i] * v[i];
+        }
+        norm = Math.sqrt(norm);
+        for (double x : v) {
+            target.add(x / norm);
+        }
+    }
+
+    private static String lastUserMessage(JsonNode messages) {
+        String last = "";
+        for (JsonNode message : messages) {
+            if ("user".equals(message.path("role").asText())) {
+                last = message.path("content").asText();
+            }
+        }
+        return last;
+    }
+
+    static String answerFor(String prompt) {
+        String topic = prompt.length() > 60 ? prompt.substring(0, 60) : prompt;
+        return "This is a simulated answer. You asked about " + topic.replace('\n', ' ').trim()
+                + ". The stand-in model has no real knowledge, but it answers in about the time a real one would.";
+    }
+
+    private static JsonNode readBody(HttpExchange exchange) throws IOException {
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        return body.length == 0 ? JSON.createObjectNode() : JSON.readTree(body);
+    }
+
+    private static void writeJson(HttpExchange exchange, JsonNode body) throws IOException {
+        byte[] bytes = JSON.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Standalone: FakeLlmServer [port] [latency spec] [embedding latency spec] [dimensions]
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 11435;
+        LatencyDistribution chat = LatencyDistribution.parse(args.length > 1 ? args[1] : "lognormal:800,4000");
+        LatencyDistribution embed = LatencyDistribution.parse(args.length > 2 ? args[2] : "lognormal:40,200");
+        int dimensions = args.length > 3 ? Integer.parseInt(args[3]) : 1536;
+        FakeLlmServer server = new FakeLlmServer(port, chat, embed, dimensions).start();
+        System.out.println("Fake LLM server on " + server.baseUrl() + " (chat " + chat + ", embeddings " + embed + ")");
+        System.out.println("Set OPENAI_BASE_URL=" + server.baseUrl() + " and OLLAMA_URL=" + server.baseUrl());
+    }
+}
@@ -0,0 +1,245 @@
+package oracleai.aiholo.agents;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.ai.chat.ChatClient;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.openai.OpenAiChatClient;
+import org.springframework.ai.openai.api.OpenAiApi;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drives the agents of oracleai.aiholo.agents in this JVM, wired the way
+ * Spring would wire them, against {@link LatencyDataSource} and
+ * {@link FakeLlmServer}. Questions go through the same path as
+ * AgentService.processQuestionAsync(): KeywordRouter, then
+ * AsyncAgentExecutor (deadlines, fallback, metrics).
+ *
+ * Each call wraps the routed agent and the fallback in a {@link Probe}, so the
+ * report can book the answer under the agent that actually produced it and
+ * count error answers (AgentMetrics.markError()) that did not throw.
+ */
+final class InProcessTarget implements LoadHarness.Target {
+
+    private final KeywordRouter router = new KeywordRouter();
+    private final AgentMetrics metrics = new AgentMetrics();
+    private final AsyncAgentExecutor executor;
+    private final Agent fallback;
+
+    InProcessTarget(LoadHarness.Options options, FakeLlmServer llm) {
+        inject(metrics, "registry", new SimpleMeterRegistry());
+        inject(router, "metrics", metrics);
+        executor = new AsyncAgentExecutor(options.agentTimeoutMillis(), "", metrics);
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource(options));
+        OpenAiChatClient chatClient = new OpenAiChatClient(new OpenAiApi(llm.baseUrl(), "fake-key"));
+
+        NL2SQLPlanCache planCache = new NL2SQLPlanCache(options.planCache(), 256, 86400);
+        DBSQLAgent sqlAgent = new DBSQLAgent();
+        inject(sqlAgent, "jdbcTemplate", jdbc);
+        inject(sqlAgent, "planCache", planCache);
+
+        DocumentSummarizer summarizer = new DocumentSummarizer(400, 4, 200);
+        inject(summarizer, "jdbcTemplate", jdbc);
+        DBSummarizationAgent summarizationAgent = new DBSummarizationAgent();
+        inject(summarizationAgent, "jdbcTemplate", jdbc);
+        inject(summarizationAgent, "summarizer", summarizer);
+        inject(summarizationAgent, "documentTable", "vector_store");
+
+        DBPropertyGraphAgent graphAgent = new DBPropertyGraphAgent();
+        inject(graphAgent, "jdbcTemplate", jdbc);
+
+        SchemaCatalog catalog = new SchemaCatalog();
+        inject(catalog, "jdbcTemplate", jdbc);
+        inject(catalog, "eventPublisher", (ApplicationEventPublisher) event -> { });
+        catalog.refreshIfChanged();
+        Langchain4jToolAgent toolAgent = new Langchain4jToolAgent();
+        inject(toolAgent, "jdbcTemplate", jdbc);
+        inject(toolAgent, "schemaCatalog", catalog);
+
+        DatabaseVersionContextProvider versionProvider = new DatabaseVersionContextProvider();
+        inject(versionProvider, "jdbcTemplate", jdbc);
+        GroundingContextAssembler grounding = new GroundingContextAssembler();
+        inject(grounding, "providers", List.of(versionProvider));
+        grounding.init();
+        grounding.refreshStaticContext();
+        SpringAIChatAgent chatAgent = new SpringAIChatAgent();
+        inject(chatAgent, "chatClient", chatClient);
+        inject(chatAgent, "streamingChatClient", chatClient);
+        inject(chatAgent, "groundingContext", grounding);
+
+        fallback = new DirectLlmStandIn(chatClient);
+
+        // Registration order as in AgentService: built-ins, then the fallback
+        router.compile(List.of(graphAgent, toolAgent, sqlAgent, summarizationAgent, chatAgent, fallback));
+    }
+
+    @Override
+    public LoadHarness.Answer call(String label, String question) {
+        Agent agent = router.route(QuestionTokens.of(question));
+        if (agent == null) {
+            agent = fallback;
+        }
+        Probe primary = new Probe(agent);
+        Probe backup = new Probe(fallback);
+        executor.processQuestionAsync(primary, question, agent == fallback ? null : backup).join();
+        // The executor only calls the fallback once the primary has failed or timed out
+        Probe answered = backup.called ? backup : primary;
+        return new LoadHarness.Answer(answered.getValueName(), agent.getValueName(), answered.error);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /** Canned responses and latencies for every query the in-tree agents issue. */
+    private static LatencyDataSource dataSource(LoadHarness.Options options) {
+        LatencyDistribution db = options.dbLatency();
+        LatencyDistribution inDbLlm = options.inDbLlmLatency();
+        String longText = "The maintenance schedule covers hull inspection, radar calibration and crew drills. ".repeat(80);
+        List<LatencyDataSource.Rule> rules = new ArrayList<>();
+        rules.add(LatencyDataSource.Rule.of("action => 'showsql'", inDbLlm,
+                rows(row("RESPONSE", "SELECT ship_name, status FROM ships WHERE hull_number = 3"))));
+        rules.add(LatencyDataSource.Rule.of("DBMS_CLOUD_AI\\.GENERATE", inDbLlm,
+                rows(row("RESPONSE", "There are 3 ships in port and 2 at sea."))));
+        rules.add(LatencyDataSource.Rule.of("UTL_TO_SUMMARY", inDbLlm,
+                rows(row("SUMMARY", "The document describes the fleet maintenance schedule."))));
+        rules.add(LatencyDataSource.Rule.of("UTL_TO_CHUNKS", db,
+                rows(row("CHUNK_DATA", longText.substring(0, 2000)), row("CHUNK_DATA", longText.substring(2000, 4000)),
+                     row("CHUNK_DATA", longText.substring(4000)))));
+        rules.add(LatencyDataSource.Rule.of("JSON_VALUE\\(metadata", db, rows(row("TEXT", longText))));
+        rules.add(LatencyDataSource.Rule.of("GRAPH_TABLE", db, graphRows()));
+        rules.add(LatencyDataSource.Rule.of("product_component_version", db,
+                rows(row("V", "Database: Oracle 23.5.0.24.07"))));
+        rules.add(LatencyDataSource.Rule.of("FROM user_objects", db, rows(row("V", "20260101000000:42"))));
+        rules.add(LatencyDataSource.Rule.of("FROM user_tables t\\s+LEFT JOIN", db,
+                rows(row("TABLE_NAME", "SHIPS", "COMMENTS", "Navy ships"),
+                     row("TABLE_NAME", "EQUIPMENT", "COMMENTS", "Ship equipment"))));
+        rules.add(LatencyDataSource.Rule.of("FROM user_tab_columns", db,
+                rows(row("TABLE_NAME", "SHIPS", "COLUMN_NAME", "SHIP_NAME", "DATA_TYPE", "VARCHAR2", "NULLABLE", "N", "COMMENTS", null),
+                     row("TABLE_NAME", "SHIPS", "COLUMN_NAME", "HULL_NUMBER", "DATA_TYPE", "NUMBER", "NULLABLE", "N", "COMMENTS", null),
+                     row("TABLE_NAME", "EQUIPMENT", "COLUMN_NAME", "NAME", "DATA_TYPE", "VARCHAR2", "NULLABLE", "Y", "COMMENTS", null))));
+        rules.add(LatencyDataSource.Rule.of("COUNT\\(\\*\\)", db, rows(row("COUNT", 42L))));
+        rules.add(LatencyDataSource.Rule.of("FROM \"?(ships|equipment)", db,
+                rows(row("SHIP_NAME", "USS Example", "STATUS", "In port"))));
+        return new LatencyDataSource(rules, db);
+    }
+
+    private static List<Map<String, Object>> graphRows() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            rows.add(row("SOURCE", "USS Example", "REL", "HAS_EQUIPMENT", "TARGET", "Radar array " + i));
+        }
+        return rows;
+    }
+
+    @SafeVarargs
+    private static List<Map<String, Object>> rows(Map<String, Object>... rows) {
+        return List.of(rows);
+    }
+
+    private static Map<String, Object> row(Object... keysAndValues) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            row.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return row;
+    }
+
+    private static void inject(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot inject " + fieldName + " into " + target.getClass(), e);
+        }
+    }
+
+    /**
+     * Per-call wrapper that records whether the agent was called and whether
+     * it flagged its answer as an error. Name and valueName are the wrapped
+     * agent's, so deadlines, bulkheads and meters apply as usual.
+     */
+    private static final class Probe implements Agent {
+        private final Agent agent;
+        volatile boolean called;
+        volatile boolean error;
+
+        Probe(Agent agent) {
+            this.agent = agent;
+        }
+
+        @Override
+        public String getName() {
+            return agent.getName();
+        }
+
+        @Override
+        public String getValueName() {
+            return agent.getValueName();
+        }
+
+        @Override
+        public String[][] getKeywords() {
+            return agent.getKeywords();
+        }
+
+        @Override
+        public String processQuestion(String question) {
+            called = true;
+            String answer = agent.processQuestion(question);
+            error = AgentMetrics.isErrorMarked();
+            return answer;
+        }
+
+        @Override
+        public boolean isConfigured() {
+            return agent.isConfigured();
+        }
+    }
+
+    /** Stand-in for DirectLLMAgent (generalagent): sends the question straight to the LLM. */
+    private static final class DirectLlmStandIn implements Agent {
+        private final ChatClient chatClient;
+
+        DirectLlmStandIn(ChatClient chatClient) {
+            this.chatClient = chatClient;
+        }
+
+        @Override
+        public String getName() {
+            return "Direct LLM stand-in";
+        }
+
+        @Override
+        public String getValueName() {
+            return "generalagent";
+        }
+
+        @Override
+        public String[][] getKeywords() {
+            return new String[0][];
+        }
+
+        @Override
+        public String processQuestion(String question) {
+            long llmStart = System.nanoTime();
+            String answer = chatClient.call(new Prompt(question)).getResult().getOutput().getContent();
+            AgentMetrics.recordLlm(llmStart);
+            return answer;
+        }
+
+        @Override
+        public boolean isConfigured() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package oracleai.aiholo.agents;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory stand-in for the Oracle DataSource.
+ *
+ * Connections, statements and result sets are dynamic proxies. Each query is
+ * matched against a list of {@link Rule}s by SQL regex. The first rule that
+ * matches supplies a simulated latency and the canned rows to return, so
+ * DBMS_CLOUD_AI, DBMS_VECTOR_CHAIN, GRAPH_TABLE and dictionary queries can
+ * each be given realistic timing. Statement.cancel() interrupts the waiting
+ * thread and setQueryTimeout() is honoured, so deadline handling in
+ * {@link AgentJdbc} behaves as it would against the real database.
+ */
+final class LatencyDataSource implements DataSource {
+
+    /** A canned response for all SQL matching {@code pattern}. */
+    record Rule(Pattern pattern, LatencyDistribution latency, List<Map<String, Object>> rows) {
+
+        static Rule of(String regex, LatencyDistribution latency, List<Map<String, Object>> rows) {
+            return new Rule(Pattern.compile(regex, Pattern.CASE_INSENSITIVE | Pattern.DOTALL), latency, rows);
+        }
+    }
+
+    private final List<Rule> rules;
+    private final Rule defaultRule;
+
+    LatencyDataSource(List<Rule> rules, LatencyDistribution defaultLatency) {
+        this.rules = List.copyOf(rules);
+        this.defaultRule = new Rule(Pattern.compile(".*"), defaultLatency, List.of());
+    }
+
+    private Rule ruleFor(String sql) {
+        for (Rule rule : rules) {
+            if (rule.pattern().matcher(sql).find()) {
+                return rule;
+            }
+        }
+        return defaultRule;
+    }
+
+    @Override
+    public Connection getConnection() {
+        return proxy(Connection.class, new ConnectionHandler());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) {
+        return getConnection();
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        throw new SQLException("Not a wrapper");
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return false;
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private boolean closed;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "prepareStatement":
+                case "prepareCall":
+                    return proxy(PreparedStatement.class, new StatementHandler((String) args[0]));
+                case "createStatement":
+                    return proxy(Statement.class, new StatementHandler(null));
+                case "close":
+                    closed = true;
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "getAutoCommit":
+                case "isValid":
+                    return true;
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final String preparedSql;
+        private volatile Thread executing;
+        private volatile boolean cancelled;
+        private int queryTimeoutSeconds;
+        private int batchCount;
+
+        StatementHandler(String preparedSql) {
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws SQLException {
+            switch (method.getName()) {
+                case "executeQuery":
+                    return resultSet(execute(sqlOf(args)));
+                case "execute":
+                    execute(sqlOf(args));
+                    return true;
+                case "executeUpdate":
+                case "executeLargeUpdate":
+                    execute(sqlOf(args));
+                    return method.getReturnType() == long.class ? 1L : 1;
+                case "addBatch":
+                    batchCount++;
+                    return null;
+                case "executeBatch": {
+                    execute(preparedSql);
+                    int[] counts = new int[batchCount];
+                    Arrays.fill(counts, 1);
+                    batchCount = 0;
+                    return counts;
+                }
+                case "setQueryTimeout":
+                    queryTimeoutSeconds = (Integer) args[0];
+                    return null;
+                case "cancel": {
+                    cancelled = true;
+                    Thread t = executing;
+                    if (t != null) {
+                        t.interrupt();
+                    }
+                    return null;
+                }
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        }
+
+        private String sqlOf(Object[] args) {
+            return args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+        }
+
+        private List<Map<String, Object>> execute(String sql) throws SQLException {
+            Rule rule = ruleFor(sql);
+            long latency = rule.latency().sampleMillis();
+            boolean timedOut = queryTimeoutSeconds > 0 && latency > queryTimeoutSeconds * 1000L;
+            executing = Thread.currentThread();
+            try {
+                Thread.sleep(timedOut ? queryTimeoutSeconds * 1000L : latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("ORA-01013: user requested cancel of current operation");
+            } finally {
+                executing = null;
+            }
+            if (cancelled) {
+                throw new SQLException("ORA-01013: user requested cancel of current operation");
+            }
+            if (timedOut) {
+                throw new SQLTimeoutException("ORA-01013: user requested cancel of current operation (query timeout)");
+            }
+            return rule.rows();
+        }
+    }
+
+    private static ResultSet resultSet(List<Map<String, Object>> rows) {
+        List<String> columns = rows.isEmpty() ? List.of() : new ArrayList<>(rows.get(0).keySet());
+        return proxy(ResultSet.class, new ResultSetHandler(rows, columns));
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+        private final List<Map<String, Object>> rows;
+        private final List<String> columns;
+        private int row = -1;
+        private boolean wasNull;
+
+        ResultSetHandler(List<Map<String, Object>> rows, List<String> columns) {
+            this.rows = rows;
+            this.columns = columns;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws SQLException {
+            String name = method.getName();
+            switch (name) {
+                case "next":
+                    return ++row < rows.size();
+                case "wasNull":
+                    return wasNull;
+                case "getMetaData":
+                    return proxy(ResultSetMetaData.class, (p, m, a) -> switch (m.getName()) {
+                        case "getColumnCount" -> columns.size();
+                        case "getColumnLabel", "getColumnName" -> columns.get((Integer) a[0] - 1);
+                        case "getColumnType" -> Types.VARCHAR;
+                        case "getColumnClassName" -> Object.class.getName();
+                        default -> defaultValue(m.getReturnType());
+                    });
+                case "findColumn":
+                    return columns.indexOf(((String) args[0]).toUpperCase(Locale.ROOT)) + 1;
+                default:
+                    break;
+            }
+            if (name.startsWith("get") && args != null && args.length >= 1) {
+                Object value = value(args[0]);
+                wasNull = value == null;
+                return convert(value, method.getReturnType());
+            }
+            return defaultValue(method.getReturnType());
+        }
+
+        private Object value(Object column) throws SQLException {
+            if (row < 0 || row >= rows.size()) {
+                throw new SQLException("No current row");
+            }
+            Map<String, Object> current = rows.get(row);
+            if (column instanceof Integer index) {
+                return current.get(columns.get(index - 1));
+            }
+            return current.get(((String) column).toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private static Object convert(Object value, Class<?> type) {
+        if (value == null) {
+            return defaultValue(type);
+        }
+        if (type == String.class) {
+            return value.toString();
+        }
+        if (type == Object.class || type.isInstance(value)) {
+            return value;
+        }
+        Number number = value instanceof Number n ? n : Double.valueOf(value.toString());
+        if (type == long.class || type == Long.class) {
+            return number.longValue();
+        }
+        if (type == int.class || type == Integer.class) {
+            return number.intValue();
+        }
+        if (type == double.class || type == Double.class) {
+            return number.doubleValue();
+        }
+        if (type == float.class || type == Float.class) {
+            return number.floatValue();
+        }
+        if (type == BigDecimal.class) {
+            return new BigDecimal(number.toString());
+        }
+        return value;
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == double.class) {
+            return 0.0;
+        }
+        if (type == float.class) {
+            return 0.0f;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        return '\0';
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(LatencyDataSource.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+}
@@ -0,0 +1,87 @@
+package oracleai.aiholo.agents;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Simulated latency, parsed from a short spec:
+ * - "fixed:50"            always 50 ms
+ * - "uniform:20-80"       uniformly between 20 and 80 ms
+ * - "lognormal:400,2500"  log-normal with median 400 ms and p99 2500 ms
+ *
+ * Log-normal is the usual shape of LLM and database response times: most
+ * calls near the median, with a long right tail.
+ */
+final class LatencyDistribution {
+
+    private static final double Z_99 = 2.326;
+
+    private final String spec;
+    private final Kind kind;
+    private final double a;
+    private final double b;
+
+    private enum Kind { FIXED, UNIFORM, LOGNORMAL }
+
+    private LatencyDistribution(String spec, Kind kind, double a, double b) {
+        this.spec = spec;
+        this.kind = kind;
+        this.a = a;
+        this.b = b;
+    }
+
+    static LatencyDistribution parse(String spec) {
+        String[] parts = spec.trim().split(":", 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Latency spec must be kind:values, got " + spec);
+        }
+        String values = parts[1].trim();
+        switch (parts[0].trim().toLowerCase(Locale.ROOT)) {
+            case "fixed":
+                return new LatencyDistribution(spec, Kind.FIXED, Double.parseDouble(values), 0);
+            case "uniform": {
+                String[] range = values.split("-", 2);
+                return new LatencyDistribution(spec, Kind.UNIFORM,
+                        Double.parseDouble(range[0]), Double.parseDouble(range[1]));
+            }
+            case "lognormal": {
+                String[] p = values.split(",", 2);
+                double median = Double.parseDouble(p[0]);
+                double p99 = Double.parseDouble(p[1]);
+                if (median <= 0 || p99 < median) {
+                    throw new IllegalArgumentException("lognormal needs 0 < median <= p99, got " + spec);
+                }
+                return new LatencyDistribution(spec, Kind.LOGNORMAL, Math.log(median), Math.log(p99 / median) / Z_99);
+            }
+            default:
+                throw new IllegalArgumentException("Unknown latency kind in " + spec);
+        }
+    }
+
+    long sampleMillis() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (kind) {
+            case FIXED -> (long) a;
+            case UNIFORM -> (long) (a + random.nextDouble() * (b - a));
+            case LOGNORMAL -> (long) Math.exp(a + b * random.nextGaussian());
+        };
+    }
+
+    /** Sleeps for one sample; interruption ends the sleep early and is preserved. */
+    void sleep() {
+        long millis = sampleMillis();
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+}
@@ -0,0 +1,97 @@
+package oracleai.aiholo.agents;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects response times per agent label and prints p50/p95/p99 and
+ * throughput, plus errors and fallbacks. Fallbacks are counted on the agent
+ * the question was routed to; the response time is booked under the agent
+ * that answered. Samples are kept exactly (one long per request), which is fine
+ * for the request volumes a kiosk load test produces.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Samples> byLabel = new ConcurrentHashMap<>();
+
+    void record(String label, long nanos, boolean failed) {
+        byLabel.computeIfAbsent(label, k -> new Samples()).add(nanos, failed);
+    }
+
+    void recordFallback(String routedTo) {
+        byLabel.computeIfAbsent(routedTo, k -> new Samples()).addFallback();
+    }
+
+    void printReport(double elapsedSeconds) {
+        System.out.printf("%n%-24s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+                "agent", "requests", "errors", "fallbacks", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        Samples all = new Samples();
+        for (Map.Entry<String, Samples> entry : new TreeMap<>(byLabel).entrySet()) {
+            printLine(entry.getKey(), entry.getValue(), elapsedSeconds);
+            all.addAll(entry.getValue());
+        }
+        printLine("ALL", all, elapsedSeconds);
+    }
+
+    private static void printLine(String label, Samples samples, double elapsedSeconds) {
+        long[] sorted = samples.sorted();
+        System.out.printf("%-24s %8d %7d %9d %9.2f %9.1f %9.1f %9.1f %9.1f%n",
+                label, sorted.length, samples.errors(), samples.fallbacks(), sorted.length / elapsedSeconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    private static final class Samples {
+        private long[] values = new long[1024];
+        private int size;
+        private int errors;
+        private int fallbacks;
+
+        synchronized void add(long nanos, boolean failed) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+            if (failed) {
+                errors++;
+            }
+        }
+
+        synchronized void addFallback() {
+            fallbacks++;
+        }
+
+        synchronized void addAll(Samples other) {
+            long[] theirs = other.sorted();
+            for (long v : theirs) {
+                add(v, false);
+            }
+            errors += other.errors();
+            fallbacks += other.fallbacks();
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        synchronized int errors() {
+            return errors;
+        }
+
+        synchronized int fallbacks() {
+            return fallbacks;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package oracleai.aiholo.agents;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offline load test: many simulated kiosk visitors asking questions
+ * concurrently, with Oracle and the LLM replaced by local stand-ins.
+ *
+ * Modes:
+ * - inprocess (default): the agents run in this JVM against
+ *   {@link LatencyDataSource} and {@link FakeLlmServer}, through KeywordRouter
+ *   and AsyncAgentExecutor. No application or database needed.
+ * - http: drives a running application. The harness starts
+ *   {@link FakeLlmServer} on --fake-llm-port; start the app with
+ *   OPENAI_BASE_URL / OLLAMA_URL pointing at it, and pass the question URL as
+ *   --target with a {question} placeholder.
+ *
+ * Each visitor asks a question, waits for the answer, pauses for the think
+ * time, and repeats until --duration ends. Requests finishing during the first
+ * --warmup seconds are not counted. The report prints requests, errors,
+ * fallbacks, throughput and p50/p95/p99/max latency per agent. A request is
+ * booked under the agent that answered it; in inprocess mode a question the
+ * fallback agent answered (timeout, bulkhead rejection, failure) also counts
+ * as a fallback of the routed agent, and an answer the agent flagged with
+ * AgentMetrics.markError() counts as an error.
+ *
+ * Example:
+ *   java oracleai.aiholo.agents.LoadHarness --visitors=50 --duration=120 \
+ *        --llm-latency=lognormal:800,4000 --db-latency=lognormal:5,40
+ */
+public final class LoadHarness {
+
+    /** Something that answers one question and reports how it was answered. */
+    interface Target extends AutoCloseable {
+        Answer call(String label, String question) throws Exception;
+
+        @Override
+        void close();
+    }
+
+    /**
+     * How one question was answered.
+     *
+     * @param agent    label of the agent that answered
+     * @param routedTo label of the agent the question was routed to; differs from agent after a fallback
+     * @param error    the answer is an error message rather than an answer
+     */
+    record Answer(String agent, String routedTo, boolean error) {
+        boolean fellBack() {
+            return !agent.equals(routedTo);
+        }
+    }
+
+    record Options(String mode, int visitors, int durationSeconds, int warmupSeconds,
+                   LatencyDistribution think, LatencyDistribution llmLatency, LatencyDistribution embedLatency,
+                   LatencyDistribution dbLatency, LatencyDistribution inDbLlmLatency,
+                   long agentTimeoutMillis, boolean planCache, String target, String workload, int fakeLlmPort) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Arguments are --name=value, got " + arg);
+                }
+                values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+            String mode = values.getOrDefault("mode", "inprocess");
+            return new Options(mode,
+                    Integer.parseInt(values.getOrDefault("visitors", "20")),
+                    Integer.parseInt(values.getOrDefault("duration", "60")),
+                    Integer.parseInt(values.getOrDefault("warmup", "5")),
+                    LatencyDistribution.parse(values.getOrDefault("think", "uniform:1000-3000")),
+                    LatencyDistribution.parse(values.getOrDefault("llm-latency", "lognormal:800,4000")),
+                    LatencyDistribution.parse(values.getOrDefault("embed-latency", "lognormal:40,200")),
+                    LatencyDistribution.parse(values.getOrDefault("db-latency", "lognormal:5,40")),
+                    LatencyDistribution.parse(values.getOrDefault("indb-llm-latency", "lognormal:1200,6000")),
+                    Long.parseLong(values.getOrDefault("agent-timeout-ms", "30000")),
+                    Boolean.parseBoolean(values.getOrDefault("plan-cache", "true")),
+                    values.get("target"),
+                    values.get("workload"),
+                    Integer.parseInt(values.getOrDefault("fake-llm-port", "http".equals(mode) ? "11435" : "0")));
+        }
+    }
+
+    record Question(String label, String text) {
+    }
+
+    private static final List<Question> DEFAULT_WORKLOAD = List.of(
+            new Question("dbsqlagent", "sql query: what is the status of the ship with hull number 3"),
+            new Question("dbsqlagent", "database query for the ship with hull number 7"),
+            new Question("dbsummarizationagent", "summarize fleet-report.pdf"),
+            new Question("dbsummarizationagent", "give me a summary of maintenance-manual.pdf"),
+            new Question("dbpropertygraphagent", "graph query for USS Example"),
+            new Question("dbpropertygraphagent", "what equipment is related to Radar array"),
+            new Question("langchain4jtoolagent", "langchain tool describe the ships table"),
+            new Question("langchain4jtoolagent", "langchain tool how many rows are in equipment"),
+            new Question("springaichatagent", "spring ai chat what is new in Oracle 23ai"),
+            new Question("springaichatagent", "grounded chat about vector search"),
+            new Question("generalagent", "tell me a joke about holograms"),
+            new Question("generalagent", "what can you do"));
+
+    private LoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        List<Question> workload = options.workload() == null ? DEFAULT_WORKLOAD : readWorkload(Path.of(options.workload()));
+        new AgentLog(false);
+
+        try (FakeLlmServer llm = new FakeLlmServer(options.fakeLlmPort(), options.llmLatency(),
+                options.embedLatency(), 1536).start();
+             Target target = "http".equals(options.mode()) ? new HttpTarget(options) : new InProcessTarget(options, llm)) {
+
+            System.out.println("Fake LLM server on " + llm.baseUrl());
+            System.out.println(options.visitors() + " visitors for " + options.durationSeconds() + " s (" + options.mode()
+                    + " mode), think " + options.think() + ", llm " + options.llmLatency() + ", db " + options.dbLatency());
+            run(options, workload, target);
+        }
+    }
+
+    private static void run(Options options, List<Question> workload, Target target) throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+
+        try (ExecutorService visitors = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int v = 0; v < options.visitors(); v++) {
+                visitors.submit(() -> {
+                    while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+                        Question question = workload.get(ThreadLocalRandom.current().nextInt(workload.size()));
+                        long t0 = System.nanoTime();
+                        Answer answer;
+                        try {
+                            answer = target.call(question.label(), question.text());
+                        } catch (Exception e) {
+                            answer = new Answer(question.label(), question.label(), true);
+                        }
+                        long t1 = System.nanoTime();
+                        if (t0 >= measureFrom && t1 <= end) {
+                            recorder.record(answer.agent(), t1 - t0, answer.error());
+                            if (answer.fellBack()) {
+                                recorder.recordFallback(answer.routedTo());
+                            }
+                        }
+                        options.think().sleep();
+                    }
+                });
+            }
+        }
+        recorder.printReport(options.durationSeconds());
+    }
+
+    private static List<Question> readWorkload(Path file) throws IOException {
+        List<Question> questions = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            int bar = line.indexOf('|');
+            questions.add(bar < 0 ? new Question("unlabelled", line.trim())
+                    : new Question(line.substring(0, bar).trim(), line.substring(bar + 1).trim()));
+        }
+        if (questions.isEmpty()) {
+            throw new IllegalArgumentException("Workload file " + file + " has no questions");
+        }
+        return questions;
+    }
+
+    /**
+     * Sends each question to a running application; the label comes from the
+     * workload. Only HTTP errors are seen here: fallbacks and error answers are
+     * in the application's aiholo.agent.requests meter.
+     */
+    private static final class HttpTarget implements Target {
+        private final HttpClient client;
+        private final String template;
+        private final Duration timeout;
+
+        HttpTarget(Options options) {
+            if (options.target() == null || !options.target().contains("{question}")) {
+                throw new IllegalArgumentException("http mode needs --target=URL containing {question}");
+            }
+            this.template = options.target();
+            this.timeout = Duration.ofMillis(options.agentTimeoutMillis() * 2);
+            this.client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+        }
+
+        @Override
+        public Answer call(String label, String question) throws Exception {
+            URI uri = URI.create(template.replace("{question}", URLEncoder.encode(question, StandardCharsets.UTF_8)));
+            HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri).timeout(timeout).GET().build(),
+                    HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 400) {
+                throw new IOException("HTTP " + response.statusCode());
+            }
+            return new Answer(label, label, false);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}